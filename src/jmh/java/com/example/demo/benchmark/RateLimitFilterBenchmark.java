@@ -0,0 +1,100 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.config.RateLimitFilter;
+import com.example.demo.config.RateLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of RateLimitFilter: an unlimited read, an admitted write, a refused
+ * write, and admitted writes spread over 50,000 client addresses. The filter chain is a
+ * no-op, so the numbers are the filter alone.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class RateLimitFilterBenchmark {
+
+    private static final int CLIENTS = 50_000;
+    private static final FilterChain NO_OP = (request, response) -> { };
+
+    private RateLimitFilter filter;
+    private String[] addresses;
+
+    @Setup
+    public void setUp() {
+        filter = new RateLimitFilter(new RateLimitProperties(true, 100_000, Duration.ofMinutes(10), List.of(
+                new RateLimitProperties.Rule("registrations", "POST", "/api/registrations/**", 1_000_000_000, 1e9),
+                new RateLimitProperties.Rule("login", "POST", "/api/users/login", 1, 1e-6))),
+                new SimpleMeterRegistry());
+        addresses = new String[CLIENTS];
+        for (int i = 0; i < CLIENTS; i++) {
+            addresses[i] = "10." + (i >> 16) + "." + ((i >> 8) & 0xff) + "." + (i & 0xff);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Exchange {
+        final MockHttpServletRequest read = request("GET", "/api/events/page");
+        final MockHttpServletRequest write = request("POST", "/api/registrations");
+        final MockHttpServletRequest login = request("POST", "/api/users/login");
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+
+        private static MockHttpServletRequest request(String method, String uri) {
+            MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+            request.setRemoteAddr("192.168.0.1");
+            return request;
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    public int unlimitedRead(Exchange exchange) throws Exception {
+        filter.doFilter(exchange.read, exchange.response, NO_OP);
+        return exchange.response.getStatus();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public int admittedWrite(Exchange exchange) throws Exception {
+        filter.doFilter(exchange.write, exchange.response, NO_OP);
+        return exchange.response.getStatus();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public int refusedWrite(Exchange exchange) throws Exception {
+        exchange.response.reset();
+        filter.doFilter(exchange.login, exchange.response, NO_OP);
+        return exchange.response.getStatus();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public int admittedWriteManyClients(Exchange exchange) throws Exception {
+        exchange.write.setRemoteAddr(addresses[ThreadLocalRandom.current().nextInt(CLIENTS)]);
+        filter.doFilter(exchange.write, exchange.response, NO_OP);
+        return exchange.response.getStatus();
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.DemoApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Boots the application on a random port and a private in-memory database and seeds it
+ * over plain JDBC batches, sized by the number of registration rows.
+ *
+ * Users are rows / 10 and events rows / 100 (with floors). Seeded registrations only use
+ * the first half of the users, so the second half is free for registration benchmarks.
+ */
+final class SeededDataset {
+
+    static final String PASSWORD = "Secret@123";
+
+    private static final String[] WORDS = {"spring", "java", "cloud", "data", "security", "kotlin",
+            "summit", "meetup", "workshop", "conference", "devops", "testing", "design", "mobile"};
+    private static final String[] CITIES = {"Berlin", "Paris", "London", "Madrid", "Lisbon", "Vienna",
+            "Prague", "Dublin", "Oslo", "Zurich"};
+    private static final int BATCH = 5_000;
+
+    final ConfigurableApplicationContext context;
+    final int users;
+    final int events;
+    final int registrations;
+
+    private SeededDataset(ConfigurableApplicationContext context, int registrations) {
+        this.context = context;
+        this.registrations = registrations;
+        this.users = Math.max(1_000, registrations / 10);
+        this.events = Math.max(100, registrations / 100);
+    }
+
+    static SeededDataset start(int registrations) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(DemoApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:bench-" + System.nanoTime() + ";LAZY_QUERY_EXECUTION=TRUE",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN")
+                .run();
+        SeededDataset dataset = new SeededDataset(context, registrations);
+        dataset.seed();
+        return dataset;
+    }
+
+    <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    // Ids are identity columns on a fresh database, so they run 1..n in insert order
+    long userId(int index) {
+        return index + 1L;
+    }
+
+    long eventId(int index) {
+        return index + 1L;
+    }
+
+    void close() {
+        context.close();
+    }
+
+    private void seed() {
+        JdbcTemplate jdbc = bean(JdbcTemplate.class);
+        // Every user shares one hash; hashing per row would dominate the seeding time
+        String hash = bean(PasswordEncoder.class).encode(PASSWORD);
+
+        List<Object[]> batch = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            batch.add(new Object[] {"User" + i, "Bench", "user" + i + "@example.com", hash});
+            flush(jdbc, "INSERT INTO users (first_name, last_name, email, password) VALUES (?, ?, ?, ?)",
+                    batch, i == users - 1);
+        }
+
+        Timestamp future = Timestamp.valueOf(LocalDateTime.now().plusDays(30));
+        for (int i = 0; i < events; i++) {
+            String title = capitalize(WORDS[i % WORDS.length]) + " " + capitalize(WORDS[(i / WORDS.length) % WORDS.length])
+                    + " " + i;
+            batch.add(new Object[] {title, "Seeded event " + i, future, CITIES[i % CITIES.length], 1_000_000,
+                    userId(users - 1 - i % 100), "Organizer"});
+            flush(jdbc, "INSERT INTO events (title, description, event_date, location, capacity, organizer_id, " +
+                    "organizer_name, confirmed_count, cancelled_count) VALUES (?, ?, ?, ?, ?, ?, ?, 0, 0)",
+                    batch, i == events - 1);
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int half = users / 2;
+        for (int i = 0; i < registrations; i++) {
+            int user = (i / events) % half;
+            batch.add(new Object[] {eventId(i % events), userId(user), now, "CONFIRMED",
+                    "User" + user + " Bench", "user" + user + "@example.com", "Seeded event " + (i % events)});
+            flush(jdbc, "INSERT INTO event_registrations (id, event_id, user_id, registration_date, status, " +
+                    "user_name, user_email, event_title) VALUES (NEXT VALUE FOR event_registrations_seq, " +
+                    "?, ?, ?, ?, ?, ?, ?)", batch, i == registrations - 1);
+        }
+        jdbc.update("UPDATE events e SET confirmed_count = (SELECT COUNT(*) FROM event_registrations r " +
+                "WHERE r.event_id = e.id AND r.status = 'CONFIRMED')");
+    }
+
+    private static void flush(JdbcTemplate jdbc, String sql, List<Object[]> batch, boolean last) {
+        if (batch.size() == BATCH || last) {
+            jdbc.batchUpdate(sql, batch);
+            batch.clear();
+        }
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+}
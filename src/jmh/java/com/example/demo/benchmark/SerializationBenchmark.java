@@ -0,0 +1,114 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.dto.ColumnarTable;
+import com.example.demo.model.Event;
+import com.example.demo.model.EventRegistration;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Rendering of the Event and EventRegistration lists the controllers return, in each format
+ * ResponseFormat negotiates and optionally gzipped the way Tomcat compresses responses
+ * (default deflate level). Setup prints the bytes each combination puts on the wire.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int size;
+
+    @Param({"json", "smile", "cbor", "columnar"})
+    public String format;
+
+    @Param({"false", "true"})
+    public boolean gzip;
+
+    private ObjectMapper objectMapper;
+    private boolean columnar;
+    private List<Event> events;
+    private List<EventRegistration> registrations;
+
+    @Setup
+    public void setUp() throws IOException {
+        // Same builders Spring MVC uses for its Smile and CBOR converters
+        objectMapper = switch (format) {
+            case "smile" -> Jackson2ObjectMapperBuilder.smile().build();
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor().build();
+            default -> Jackson2ObjectMapperBuilder.json().build();
+        };
+        columnar = "columnar".equals(format);
+        LocalDateTime now = LocalDateTime.now();
+        events = new ArrayList<>(size);
+        registrations = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Event event = new Event();
+            event.setId((long) i);
+            event.setTitle("Spring Conference " + i);
+            event.setDescription("Talks, workshops and a hallway track, day " + i);
+            event.setEventDate(now.plusDays(i % 90));
+            event.setLocation("Berlin");
+            event.setCapacity(500);
+            event.setOrganizerId(7L);
+            event.setOrganizerName("Organizer");
+            events.add(event);
+
+            EventRegistration registration = new EventRegistration();
+            registration.setId((long) i);
+            // One event's list, as /api/registrations/event/{eventId} returns it
+            registration.setEventId(1L);
+            registration.setUserId((long) i);
+            registration.setRegistrationDate(now);
+            registration.setUserName("User " + i);
+            registration.setUserEmail("user" + i + "@example.com");
+            registration.setEventTitle("Spring Conference 1");
+            registrations.add(registration);
+        }
+        System.out.printf("%n%s%s x%d: events %d bytes, registrations %d bytes%n", format, gzip ? "+gzip" : "",
+                size, events().length, registrations().length);
+    }
+
+    @Benchmark
+    public byte[] events() throws IOException {
+        return write(columnar ? ColumnarTable.ofEvents(events) : events);
+    }
+
+    @Benchmark
+    public byte[] registrations() throws IOException {
+        return write(columnar ? ColumnarTable.ofRegistrations(1L, registrations) : registrations);
+    }
+
+    private byte[] write(Object body) throws IOException {
+        if (!gzip) {
+            return objectMapper.writeValueAsBytes(body);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            objectMapper.writeValue(out, body);
+        }
+        return bytes.toByteArray();
+    }
+}
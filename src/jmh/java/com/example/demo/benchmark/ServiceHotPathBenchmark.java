@@ -0,0 +1,95 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.model.Event;
+import com.example.demo.model.EventRegistration;
+import com.example.demo.model.User;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.service.EventRegistrationService;
+import com.example.demo.service.EventSearchIndex;
+import com.example.demo.service.EventService;
+import com.example.demo.service.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service-level hot paths against a seeded in-memory database.
+ *
+ *   mvn -Pbenchmark test-compile exec:exec \
+ *       -Djmh.args="ServiceHotPath -p rows=10000,100000 -rf json -rff target/jmh-result.json"
+ *
+ * rows is the number of seeded registrations (see {@link SeededDataset}); 1M needs about 2 GB of heap.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class ServiceHotPathBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    private SeededDataset dataset;
+    private EventRegistrationService registrationService;
+    private EventService eventService;
+    private UserService userService;
+    private User user;
+    private long nextPair;
+
+    @Setup
+    public void setUp() {
+        dataset = SeededDataset.start(rows);
+        registrationService = dataset.bean(EventRegistrationService.class);
+        eventService = dataset.bean(EventService.class);
+        userService = dataset.bean(UserService.class);
+        user = dataset.bean(UserRepository.class).findById(dataset.userId(0)).orElseThrow();
+        // The search index was built before seeding; rebuild it over the seeded rows
+        dataset.bean(EventSearchIndex.class).rebuild();
+    }
+
+    @TearDown
+    public void tearDown() {
+        dataset.close();
+    }
+
+    @Benchmark
+    public EventRegistration registerUserForEvent() {
+        // Walks fresh (event, user) pairs from the half of the users that has no seeded registrations
+        long pair = nextPair++;
+        int half = dataset.users / 2;
+        int event = (int) (pair % dataset.events);
+        int attendee = half + (int) ((pair / dataset.events) % half);
+        return registrationService.registerUserForEvent(dataset.eventId(event), dataset.userId(attendee));
+    }
+
+    @Benchmark
+    public int getRemainingCapacity() {
+        return registrationService.getRemainingCapacity(
+                dataset.eventId(ThreadLocalRandom.current().nextInt(dataset.events)));
+    }
+
+    @Benchmark
+    public List<Event> searchEventsByTitle() {
+        return eventService.searchEventsByTitle("spring conf");
+    }
+
+    @Benchmark
+    public boolean checkPassword() {
+        return userService.checkPassword(user, SeededDataset.PASSWORD);
+    }
+}
@@ -0,0 +1,230 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.DemoApplication;
+import com.example.demo.model.Event;
+import com.example.demo.model.User;
+import com.example.demo.repository.EventRepository;
+import com.example.demo.repository.UserRepository;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop load test comparing Tomcat on platform threads with virtual threads.
+ *
+ * Boots the application twice in-process (once per mode, each with its own in-memory
+ * database), seeds it, and drives a listing/registration mix from N concurrent clients.
+ * Prints p50/p99/max latency per endpoint, throughput and peak in-flight requests, and
+ * writes target/load-test-result.json.
+ *
+ *   mvn -Pbenchmark test-compile exec:exec \
+ *       -Dbenchmark.main=com.example.demo.benchmark.ThreadModeLoadTest -Djmh.args="1000 20"
+ *
+ * Arguments: concurrent clients (default 1000), seconds per mode (default 20).
+ */
+public class ThreadModeLoadTest {
+
+    private static final int EVENTS = 200;
+    private static final int USERS = 5_000;
+
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+        Map<String, Object> results = new LinkedHashMap<>();
+        results.put("clients", clients);
+        results.put("secondsPerMode", seconds);
+        for (boolean virtual : new boolean[] {false, true}) {
+            String mode = virtual ? "virtual" : "platform";
+            results.put(mode, run(mode, virtual, clients, seconds));
+        }
+
+        String json = toJson(results);
+        Files.createDirectories(Path.of("target"));
+        Files.writeString(Path.of("target", "load-test-result.json"), json);
+        System.out.println(json);
+    }
+
+    private static Map<String, Object> run(String mode, boolean virtual, int clients, int seconds) throws Exception {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(DemoApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtual,
+                        "spring.datasource.url=jdbc:h2:mem:load-" + mode + ";LAZY_QUERY_EXECUTION=TRUE",
+                        "spring.jpa.show-sql=false",
+                        // every client shares one address; measure the app, not the limiter
+                        "app.rate-limit.enabled=false",
+                        "logging.level.root=WARN")
+                .run();
+        try {
+            String base = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            long[] eventIds = seed(context);
+
+            // Short warm-up so JIT state is comparable between modes
+            drive(base, eventIds, Math.min(clients, 100), 5, new AtomicLong());
+            Map<String, Object> result = drive(base, eventIds, clients, seconds, new AtomicLong(1_000_000));
+            System.out.println(mode + ": " + result);
+            return result;
+        } finally {
+            context.close();
+        }
+    }
+
+    private static long[] seed(ConfigurableApplicationContext context) {
+        UserRepository users = context.getBean(UserRepository.class);
+        EventRepository events = context.getBean(EventRepository.class);
+
+        User organizer = users.save(user("organizer"));
+        List<User> batch = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            batch.add(user("load" + i));
+        }
+        users.saveAll(batch);
+
+        long[] ids = new long[EVENTS];
+        for (int i = 0; i < EVENTS; i++) {
+            Event event = new Event();
+            event.setTitle("Load event " + i);
+            event.setEventDate(LocalDateTime.now().plusDays(30));
+            event.setLocation("Hall " + i);
+            event.setCapacity(USERS);
+            event.setOrganizerId(organizer.getId());
+            ids[i] = events.save(event).getId();
+        }
+        return ids;
+    }
+
+    private static Map<String, Object> drive(String base, long[] eventIds, int clients, int seconds,
+                                             AtomicLong pairs) throws InterruptedException {
+        HttpClient http = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        LatencyLog listing = new LatencyLog();
+        LatencyLog registration = new LatencyLog();
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger peakInFlight = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+
+        try (ExecutorService clientThreads = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                clientThreads.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        boolean register = ThreadLocalRandom.current().nextInt(100) < 20;
+                        HttpRequest request = register
+                                ? registrationRequest(base, eventIds, pairs.getAndIncrement())
+                                : HttpRequest.newBuilder(URI.create(base + "/api/events/page?size=50")).GET().build();
+                        peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() >= 500) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (IOException e) {
+                            errors.incrementAndGet();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        } finally {
+                            inFlight.decrementAndGet();
+                        }
+                        (register ? registration : listing).record(System.nanoTime() - start);
+                    }
+                });
+            }
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("listing", listing.summary(seconds));
+        result.put("registration", registration.summary(seconds));
+        result.put("peakInFlight", peakInFlight.get());
+        result.put("errors", errors.get());
+        return result;
+    }
+
+    private static HttpRequest registrationRequest(String base, long[] eventIds, long pair) {
+        long eventId = eventIds[(int) (pair % eventIds.length)];
+        long userId = 2 + (pair / eventIds.length) % USERS;
+        String body = "{\"eventId\":" + eventId + ",\"userId\":" + userId + "}";
+        return HttpRequest.newBuilder(URI.create(base + "/api/registrations"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static User user(String name) {
+        User user = new User();
+        user.setFirstName(name);
+        user.setLastName("Load");
+        user.setEmail(name + "@example.com");
+        user.setPassword("Secret@123");
+        return user;
+    }
+
+    private static final class LatencyLog {
+        private long[] nanos = new long[1 << 16];
+        private int size;
+
+        synchronized void record(long value) {
+            if (size == nanos.length) {
+                nanos = Arrays.copyOf(nanos, size * 2);
+            }
+            nanos[size++] = value;
+        }
+
+        synchronized Map<String, Object> summary(int seconds) {
+            long[] sorted = Arrays.copyOf(nanos, size);
+            Arrays.sort(sorted);
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("requests", size);
+            summary.put("throughputPerSec", size / seconds);
+            summary.put("p50Ms", percentile(sorted, 0.50));
+            summary.put("p99Ms", percentile(sorted, 0.99));
+            summary.put("maxMs", size == 0 ? 0 : sorted[size - 1] / 1_000_000.0);
+            return summary;
+        }
+
+        private static double percentile(long[] sorted, double p) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            return sorted[(int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1)] / 1_000_000.0;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String toJson(Object value) {
+        if (value instanceof Map<?, ?> map) {
+            StringBuilder json = new StringBuilder("{");
+            ((Map<String, Object>) map).forEach((key, item) -> {
+                if (json.length() > 1) {
+                    json.append(',');
+                }
+                json.append('"').append(key).append("\":").append(toJson(item));
+            });
+            return json.append('}').toString();
+        }
+        return String.valueOf(value);
+    }
+}
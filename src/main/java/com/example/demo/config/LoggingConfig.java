@@ -0,0 +1,16 @@
+package com.example.demo.config;
+
+import com.example.demo.util.MdcPropagation;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+
+@Configuration
+public class LoggingConfig {
+
+    // Boot applies this to the application task executor, so MVC async work (streamed exports) logs with the request's correlation id
+    @Bean
+    public TaskDecorator mdcTaskDecorator() {
+        return MdcPropagation::wrap;
+    }
+}
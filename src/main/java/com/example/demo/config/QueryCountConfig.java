@@ -0,0 +1,75 @@
+package com.example.demo.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.io.IOException;
+
+/**
+ * Dev-only X-Query-Count response header with the number of SQL statements the request ran.
+ *
+ * Off in the prod profile (app.observability.query-count-header.enabled=false); there the
+ * Hibernate statistics and repository timers on /actuator/prometheus cover the same ground.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.observability.query-count-header.enabled", havingValue = "true")
+public class QueryCountConfig {
+
+    public static final String HEADER = "X-Query-Count";
+
+    // Leaves an explicitly configured inspector alone
+    @Bean
+    public HibernatePropertiesCustomizer queryCountInspector() {
+        return properties -> properties.putIfAbsent(AvailableSettings.STATEMENT_INSPECTOR, new QueryCountInspector());
+    }
+
+    @Bean
+    public OncePerRequestFilter queryCountFilter() {
+        return new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                            FilterChain chain) throws ServletException, IOException {
+                QueryCountInspector.reset();
+                try {
+                    chain.doFilter(request, response);
+                } finally {
+                    QueryCountInspector.clear();
+                }
+            }
+        };
+    }
+
+    // The header has to go on before the body is written and the response is committed
+    @ControllerAdvice
+    @ConditionalOnProperty(name = "app.observability.query-count-header.enabled", havingValue = "true")
+    static class QueryCountHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+        @Override
+        public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+            return true;
+        }
+
+        @Override
+        public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType contentType,
+                                      Class<? extends HttpMessageConverter<?>> converterType,
+                                      ServerHttpRequest request, ServerHttpResponse response) {
+            response.getHeaders().set(HEADER, String.valueOf(QueryCountInspector.current()));
+            return body;
+        }
+    }
+}
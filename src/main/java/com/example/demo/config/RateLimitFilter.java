@@ -0,0 +1,134 @@
+package com.example.demo.config;
+
+import com.example.demo.util.TokenBucket;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Token-bucket admission control for the expensive write endpoints.
+ *
+ * Requests are keyed by client address. Each rule keeps its buckets in a Caffeine cache
+ * bounded by app.rate-limit.max-clients that forgets clients idle for
+ * app.rate-limit.idle-timeout, so a flood of distinct addresses cannot grow memory without
+ * bound. Rule paths are exact or end in /** for a whole subtree, and are compared with the
+ * decoded, normalized path, as MVC routes it. Refused requests get 429 with Retry-After before
+ * they reach Spring Security or a database connection.
+ */
+public class RateLimitFilter implements Filter {
+    
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    
+    private final List<Limit> limits;
+    
+    public RateLimitFilter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.limits = properties.rules().stream()
+                .map(rule -> new Limit(rule, properties, meterRegistry))
+                .toList();
+    }
+    
+    @Override
+    public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain chain)
+            throws IOException, ServletException {
+        HttpServletRequest request = (HttpServletRequest) servletRequest;
+        Limit limit = match(request);
+        if (limit != null) {
+            String client = request.getRemoteAddr();
+            TokenBucket bucket = limit.buckets.getIfPresent(client);
+            if (bucket == null) {
+                bucket = limit.buckets.get(client, key -> limit.newBucket());
+            }
+            long waitNanos = bucket.tryAcquire(System.nanoTime());
+            if (waitNanos > 0) {
+                limit.rejected.increment();
+                reject((HttpServletResponse) servletResponse, waitNanos);
+                return;
+            }
+        }
+        chain.doFilter(servletRequest, servletResponse);
+    }
+    
+    // The method check is a string compare, so reads never pay for path matching
+    private Limit match(HttpServletRequest request) {
+        String method = request.getMethod();
+        String path = null;
+        for (Limit limit : limits) {
+            if (!limit.rule.method().equalsIgnoreCase(method)) {
+                continue;
+            }
+            if (path == null) {
+                // The raw URI would let %-escapes, ;jsessionid or // slip past a rule MVC still routes
+                path = UrlPathHelper.defaultInstance.getPathWithinApplication(request);
+            }
+            if (limit.matches(path)) {
+                return limit;
+            }
+        }
+        return null;
+    }
+    
+    private static void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfter = Math.max(1, (waitNanos + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.getWriter().write("Too many requests, please retry in " + retryAfter + " seconds");
+    }
+    
+    private static class Limit {
+        
+        final RateLimitProperties.Rule rule;
+        final String path;
+        final boolean subtree;
+        final Cache<String, TokenBucket> buckets;
+        final Counter rejected;
+        
+        Limit(RateLimitProperties.Rule rule, RateLimitProperties properties, MeterRegistry meterRegistry) {
+            this.rule = rule;
+            this.subtree = rule.path().endsWith("/**");
+            this.path = subtree ? rule.path().substring(0, rule.path().length() - 3) : rule.path();
+            // Never forget a client before its bucket has refilled, or eviction would hand out a fresh burst
+            Duration refill = Duration.ofNanos((long) (rule.capacity() * NANOS_PER_SECOND / rule.refillPerSecond()));
+            this.buckets = Caffeine.newBuilder()
+                    .maximumSize(properties.maxClients())
+                    .expireAfterAccess(refill.compareTo(properties.idleTimeout()) > 0 ? refill : properties.idleTimeout())
+                    // amortized eviction work runs on the calling thread instead of a hop to the common pool
+                    .executor(Runnable::run)
+                    .build();
+            this.rejected = Counter.builder("app.ratelimit.rejected")
+                    .tag("rule", rule.name())
+                    .register(meterRegistry);
+            meterRegistry.gauge("app.ratelimit.clients", Tags.of("rule", rule.name()), buckets, Cache::estimatedSize);
+        }
+        
+        // "/a/b" matches only itself, "/a/b/**" matches /a/b and everything below it
+        boolean matches(String requestPath) {
+            if (!subtree) {
+                return requestPath.equals(path);
+            }
+            return requestPath.startsWith(path)
+                    && (requestPath.length() == path.length() || requestPath.charAt(path.length()) == '/');
+        }
+        
+        TokenBucket newBucket() {
+            return new TokenBucket(rule.capacity(), rule.refillPerSecond(), System.nanoTime());
+        }
+    }
+}
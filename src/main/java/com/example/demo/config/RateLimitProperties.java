@@ -0,0 +1,23 @@
+package com.example.demo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Per-endpoint request limits (app.rate-limit.*). The first rule whose method and path
+ * pattern match a request applies; each client gets its own bucket per rule.
+ */
+@ConfigurationProperties("app.rate-limit")
+public record RateLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("100000") int maxClients,
+        @DefaultValue("10m") Duration idleTimeout,
+        @DefaultValue List<Rule> rules) {
+    
+    // capacity is the burst a client may send at once, refillPerSecond the sustained rate
+    public record Rule(String name, String method, String path, int capacity, double refillPerSecond) {
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.demo.controller;
+
+import com.example.demo.model.ArchivedEvent;
+import com.example.demo.model.ArchivedRegistration;
+import com.example.demo.service.ArchiveService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+// Read-only views of archived events and registrations
+@RestController
+@RequestMapping("/api/archive")
+public class ArchiveController {
+    
+    // An archived event and its registrations never change again
+    private static final CacheControl IMMUTABLE = CacheControl.maxAge(Duration.ofDays(1));
+    
+    @Autowired
+    private ArchiveService archiveService;
+    
+    @GetMapping("/events/{id}")
+    public ResponseEntity<ArchivedEvent> getArchivedEvent(@PathVariable Long id) {
+        Optional<ArchivedEvent> event = archiveService.getArchivedEvent(id);
+        if (event.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        return ResponseEntity.ok().cacheControl(IMMUTABLE).body(event.get());
+    }
+    
+    @GetMapping("/events/{id}/registrations")
+    public ResponseEntity<List<ArchivedRegistration>> getArchivedRegistrations(@PathVariable Long id) {
+        if (archiveService.getArchivedEvent(id).isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        return ResponseEntity.ok().cacheControl(IMMUTABLE).body(archiveService.getArchivedRegistrations(id));
+    }
+    
+    @GetMapping("/events/organizer/{organizerId}")
+    public ResponseEntity<List<ArchivedEvent>> getArchivedEventsByOrganizer(@PathVariable Long organizerId) {
+        return new ResponseEntity<>(archiveService.getArchivedEventsByOrganizer(organizerId), HttpStatus.OK);
+    }
+    
+    @GetMapping("/registrations/user/{userId}")
+    public ResponseEntity<List<ArchivedRegistration>> getArchivedRegistrationsByUser(@PathVariable Long userId) {
+        return new ResponseEntity<>(archiveService.getArchivedRegistrationsByUser(userId), HttpStatus.OK);
+    }
+}
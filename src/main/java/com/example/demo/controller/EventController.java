@@ -1,14 +1,27 @@
 package com.example.demo.controller;
 
+import com.example.demo.dto.ColumnarTable;
+import com.example.demo.dto.EventSearchResult;
+import com.example.demo.dto.EventSummary;
+import com.example.demo.dto.UserPrincipal;
+import com.example.demo.exception.ConflictException;
 import com.example.demo.model.Event;
-import com.example.demo.model.User;
+import com.example.demo.service.ConflictRetrier;
+import com.example.demo.service.EventChangeTracker;
 import com.example.demo.service.EventService;
 import com.example.demo.service.UserService;
+import com.example.demo.util.ResponseFormat;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 import java.util.Map;
@@ -24,19 +37,17 @@ public class EventController {
     @Autowired
     private UserService userService;
     
-    private boolean isAdmin(Long userId) {
-        try {
-            Optional<User> userOpt = userService.getUserById(userId);
-            if (userOpt.isPresent()) {
-                User user = userOpt.get();
-                return user.getEmail().toLowerCase().contains("admin") || 
-                       user.getFirstName().toLowerCase().equals("admin");
-            }
-            return false;
-        } catch (Exception e) {
-            return false;
-        }
-    }
+    @Autowired
+    private ConflictRetrier conflictRetrier;
+    
+    @Autowired
+    private EventChangeTracker changeTracker;
+    
+    @Value("${app.http-cache.event.shared-max-age:10s}")
+    private Duration eventSharedMaxAge;
+    
+    @Value("${app.http-cache.event-list.shared-max-age:5s}")
+    private Duration eventListSharedMaxAge;
     
     @PostMapping
     public ResponseEntity<?> createEvent(@RequestBody Map<String, Object> payload) {
@@ -49,7 +60,9 @@ public class EventController {
             
             Long organizerId = Long.valueOf(organizerIdObj.toString());
             
-            if (!isAdmin(organizerId)) {
+            // Cached principal; EventService.createEvent reuses it for the organizer name
+            Optional<UserPrincipal> organizer = userService.getPrincipal(organizerId);
+            if (organizer.isEmpty() || !organizer.get().isAdmin()) {
                 return new ResponseEntity<>("Only admin users can create events", HttpStatus.FORBIDDEN);
             }
             
@@ -110,12 +123,6 @@ public class EventController {
             event.setCapacity(capacity);
             event.setOrganizerId(organizerId);
             
-            Optional<User> organizerOpt = userService.getUserById(organizerId);
-            if (organizerOpt.isPresent()) {
-                User organizer = organizerOpt.get();
-                event.setOrganizerName(organizer.getFirstName() + " " + organizer.getLastName());
-            }
-            
             Event createdEvent = eventService.createEvent(event);
             return new ResponseEntity<>(createdEvent, HttpStatus.CREATED);
         } catch (NumberFormatException e) {
@@ -127,37 +134,109 @@ public class EventController {
         }
     }
     
-    // Get 
+    // Get (conditional: a matching If-None-Match is answered with 304 before any query runs).
+    // Accept picks JSON, Smile, CBOR or the columnar table.
     @GetMapping
-    public ResponseEntity<List<Event>> getAllEvents() {
+    public ResponseEntity<?> getAllEvents(WebRequest request) {
+        ResponseFormat format = ResponseFormat.negotiate(request.getHeader(HttpHeaders.ACCEPT), true);
+        String etag = format.tag(changeTracker.allEventsTag());
+        CacheControl cacheControl = publicCache(eventListSharedMaxAge);
+        if (request.checkNotModified(etag)) {
+            return notModified(etag, cacheControl);
+        }
         List<Event> events = eventService.getAllEvents();
-        return new ResponseEntity<>(events, HttpStatus.OK);
+        Object body = format == ResponseFormat.COLUMNAR ? ColumnarTable.ofEvents(events) : events;
+        return cacheable(format, etag, cacheControl).body(body);
+    }
+    
+    // Keyset-paginated summaries; sort=date orders by event date instead of id
+    @GetMapping("/page")
+    public ResponseEntity<?> getEventPage(@RequestParam(required = false) String cursor,
+                                          @RequestParam(required = false) Integer size,
+                                          @RequestParam(defaultValue = "id") String sort) {
+        try {
+            return new ResponseEntity<>(eventService.getEventPage(cursor, size, "date".equals(sort)), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
     }
     
-    //  ID
+    // Next events from now on, soonest first
+    @GetMapping("/upcoming")
+    public ResponseEntity<List<EventSummary>> getUpcomingEvents(@RequestParam(required = false) Integer size) {
+        return new ResponseEntity<>(eventService.getUpcomingEvents(size), HttpStatus.OK);
+    }
+    
+    // Events dated in [from, to), soonest first: /range?from=2026-10-19T00:00&to=2026-10-26T00:00
+    @GetMapping("/range")
+    public ResponseEntity<?> getEventsBetween(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                              @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                              @RequestParam(required = false) Integer size) {
+        try {
+            return new ResponseEntity<>(eventService.getEventsBetween(from, to, size), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+    
+    //  ID (conditional)
     @GetMapping("/{id}")
-    public ResponseEntity<Event> getEventById(@PathVariable Long id) {
+    public ResponseEntity<Event> getEventById(@PathVariable Long id, WebRequest request) {
+        ResponseFormat format = ResponseFormat.negotiate(request.getHeader(HttpHeaders.ACCEPT), false);
+        String etag = format.tag(changeTracker.eventTag(id));
+        CacheControl cacheControl = publicCache(eventSharedMaxAge);
+        if (request.checkNotModified(etag)) {
+            return notModified(etag, cacheControl);
+        }
         Optional<Event> event = eventService.getEventById(id);
         if (event.isPresent()) {
-            return new ResponseEntity<>(event.get(), HttpStatus.OK);
+            return cacheable(format, etag, cacheControl).body(event.get());
         } else {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         }
     }
     
-    //  organizer
+    //  organizer (conditional)
     @GetMapping("/organizer/{organizerId}")
-    public ResponseEntity<List<Event>> getEventsByOrganizer(@PathVariable Long organizerId) {
+    public ResponseEntity<List<Event>> getEventsByOrganizer(@PathVariable Long organizerId, WebRequest request) {
+        ResponseFormat format = ResponseFormat.negotiate(request.getHeader(HttpHeaders.ACCEPT), false);
+        String etag = format.tag(changeTracker.organizerTag(organizerId));
+        CacheControl cacheControl = publicCache(eventListSharedMaxAge);
+        if (request.checkNotModified(etag)) {
+            return notModified(etag, cacheControl);
+        }
         List<Event> events = eventService.getEventsByOrganizer(organizerId);
-        return new ResponseEntity<>(events, HttpStatus.OK);
+        return cacheable(format, etag, cacheControl).body(events);
+    }
+    
+    // Browsers revalidate on every use (a 304 costs no query), so users see their own writes at once;
+    // event data is the same for every caller, so a reverse proxy may serve it for a few seconds
+    private static CacheControl publicCache(Duration sharedMaxAge) {
+        return CacheControl.maxAge(Duration.ZERO).sMaxAge(sharedMaxAge).cachePublic();
+    }
+    
+    private static ResponseEntity.BodyBuilder cacheable(ResponseFormat format, String etag, CacheControl cacheControl) {
+        return ResponseEntity.ok().contentType(format.mediaType()).eTag(etag).cacheControl(cacheControl)
+                .varyBy(HttpHeaders.ACCEPT);
+    }
+    
+    // A 304 repeats the validators and caching policy the 200 would have carried
+    private static <T> ResponseEntity<T> notModified(String etag, CacheControl cacheControl) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl)
+                .varyBy(HttpHeaders.ACCEPT).build();
     }
     
     // Update
     @PutMapping("/{id}")
-    public ResponseEntity<Event> updateEvent(@PathVariable Long id, @RequestBody Event eventDetails) {
+    public ResponseEntity<?> updateEvent(@PathVariable Long id, @RequestBody Event eventDetails) {
         try {
-            Event updatedEvent = eventService.updateEvent(id, eventDetails);
+            // A full replacement is idempotent, so conflicts with concurrent writes are retried
+            Event updatedEvent = conflictRetrier.retry("event.update", () -> eventService.updateEvent(id, eventDetails));
             return new ResponseEntity<>(updatedEvent, HttpStatus.OK);
+        } catch (ConflictException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.CONFLICT);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
         } catch (RuntimeException e) {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         }
@@ -174,6 +253,14 @@ public class EventController {
         }
     }
     
+    // Ranked full-text search, e.g. /api/events/search?q=jazz+berlin&page=0&size=20
+    @GetMapping("/search")
+    public ResponseEntity<EventSearchResult> searchEvents(@RequestParam("q") String query,
+                                                          @RequestParam(defaultValue = "0") int page,
+                                                          @RequestParam(required = false) Integer size) {
+        return new ResponseEntity<>(eventService.searchEvents(query, page, size), HttpStatus.OK);
+    }
+    
     // S title
     @GetMapping("/search/title/{title}")
     public ResponseEntity<List<Event>> searchEventsByTitle(@PathVariable String title) {
@@ -1,13 +1,27 @@
 package com.example.demo.controller;
 
+import com.example.demo.dto.BatchRegistrationResult;
+import com.example.demo.dto.ColumnarTable;
+import com.example.demo.dto.RegistrationStats;
+import com.example.demo.dto.WaitlistPosition;
+import com.example.demo.exception.ConflictException;
 import com.example.demo.model.EventRegistration;
+import com.example.demo.service.ConflictRetrier;
 import com.example.demo.service.EventRegistrationService;
+import com.example.demo.service.SeatAvailabilityPublisher;
+import com.example.demo.service.WaitlistService;
+import com.example.demo.util.ResponseFormat;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 
@@ -15,9 +29,20 @@ import java.util.Map;
 @RequestMapping("/api/registrations")
 public class EventRegistrationController {
     
+    private static final int MAX_STREAMED_EVENTS = 200;
+    
     @Autowired
     private EventRegistrationService registrationService;
     
+    @Autowired
+    private WaitlistService waitlistService;
+    
+    @Autowired
+    private ConflictRetrier conflictRetrier;
+    
+    @Autowired
+    private SeatAvailabilityPublisher seatPublisher;
+    
     // Register user for an event
     @PostMapping
     public ResponseEntity<?> registerForEvent(@RequestBody Map<String, Object> payload) {
@@ -32,13 +57,22 @@ public class EventRegistrationController {
             Long eventId = Long.valueOf(eventIdObj.toString());
             Long userId = Long.valueOf(userIdObj.toString());
             
-            EventRegistration registration = registrationService.registerUserForEvent(eventId, userId);
+            EventRegistration registration = conflictRetrier.once("registration.create",
+                    () -> registrationService.registerUserForEvent(eventId, userId));
             
             Map<String, Object> response = new HashMap<>();
             response.put("registration", registration);
+            if ("PENDING".equals(registration.getStatus())) {
+                WaitlistPosition position = waitlistService.getPosition(registration);
+                response.put("waitlistPosition", position.position());
+                response.put("message", "The event is full; you are number " + position.position() + " on the waitlist");
+                return new ResponseEntity<>(response, HttpStatus.ACCEPTED);
+            }
             response.put("message", "Successfully registered for the event!");
             
             return new ResponseEntity<>(response, HttpStatus.CREATED);
+        } catch (ConflictException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.CONFLICT);
         } catch (RuntimeException e) {
             return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
         } catch (Exception e) {
@@ -46,6 +80,44 @@ public class EventRegistrationController {
         }
     }
     
+    // Register a list of users for one event: {"eventId": 1, "userIds": [2, 3, 4]}
+    @PostMapping("/batch")
+    public ResponseEntity<?> registerBatchForEvent(@RequestBody Map<String, Object> payload) {
+        try {
+            Object eventIdObj = payload.get("eventId");
+            Object userIdsObj = payload.get("userIds");
+            
+            if (eventIdObj == null || !(userIdsObj instanceof List<?> userIdList)) {
+                return new ResponseEntity<>("Event ID and a list of user IDs are required", HttpStatus.BAD_REQUEST);
+            }
+            
+            Long eventId = Long.valueOf(eventIdObj.toString());
+            List<Long> userIds = new ArrayList<>();
+            for (Object userId : userIdList) {
+                userIds.add(Long.valueOf(userId.toString()));
+            }
+            
+            List<BatchRegistrationResult> results = conflictRetrier.once("registration.batch",
+                    () -> registrationService.registerUsersForEvent(eventId, userIds));
+            long registered = results.stream()
+                    .filter(result -> BatchRegistrationResult.REGISTERED.equals(result.status()))
+                    .count();
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("results", results);
+            response.put("registered", registered);
+            response.put("message", registered + " of " + results.size() + " users registered");
+            
+            return new ResponseEntity<>(response, HttpStatus.OK);
+        } catch (ConflictException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.CONFLICT);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            return new ResponseEntity<>("Batch registration failed: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+    
     // Cancel registration
     @DeleteMapping
     public ResponseEntity<?> cancelRegistration(@RequestBody Map<String, Object> payload) {
@@ -60,9 +132,12 @@ public class EventRegistrationController {
             Long eventId = Long.valueOf(eventIdObj.toString());
             Long userId = Long.valueOf(userIdObj.toString());
             
-            registrationService.cancelRegistration(eventId, userId);
+            // Cancelling twice has the same outcome, so a conflicting concurrent cancel is retried
+            conflictRetrier.retry("registration.cancel", () -> registrationService.cancelRegistration(eventId, userId));
             
             return new ResponseEntity<>("Registration cancelled successfully", HttpStatus.OK);
+        } catch (ConflictException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.CONFLICT);
         } catch (RuntimeException e) {
             return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
         } catch (Exception e) {
@@ -70,17 +145,54 @@ public class EventRegistrationController {
         }
     }
     
-    // Get registrations for an event (for organizers/admins)
+    // Get registrations for an event (for organizers/admins); Accept picks JSON, Smile, CBOR or the columnar table
     @GetMapping("/event/{eventId}")
-    public ResponseEntity<List<EventRegistration>> getEventRegistrations(@PathVariable Long eventId) {
+    public ResponseEntity<?> getEventRegistrations(@PathVariable Long eventId,
+                                                   @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
         try {
+            ResponseFormat format = ResponseFormat.negotiate(accept, true);
             List<EventRegistration> registrations = registrationService.getEventRegistrations(eventId);
-            return new ResponseEntity<>(registrations, HttpStatus.OK);
+            Object body = format == ResponseFormat.COLUMNAR
+                    ? ColumnarTable.ofRegistrations(eventId, registrations)
+                    : registrations;
+            return ResponseEntity.ok().contentType(format.mediaType()).varyBy(HttpHeaders.ACCEPT).body(body);
         } catch (Exception e) {
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
     
+    // Keyset-paginated registrations for an event
+    @GetMapping("/event/{eventId}/page")
+    public ResponseEntity<?> getEventRegistrationPage(@PathVariable Long eventId,
+                                                      @RequestParam(required = false) String cursor,
+                                                      @RequestParam(required = false) Integer size) {
+        try {
+            return new ResponseEntity<>(registrationService.getEventRegistrationPage(eventId, cursor, size), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+    
+    // Export all registrations for an organizer's events as CSV or NDJSON, streamed row by row
+    @GetMapping("/organizer/{organizerId}/export")
+    public ResponseEntity<StreamingResponseBody> exportOrganizerRegistrations(
+            @PathVariable Long organizerId,
+            @RequestParam(defaultValue = "ndjson") String format) {
+        boolean csv = "csv".equalsIgnoreCase(format);
+        if (!csv && !"ndjson".equalsIgnoreCase(format)) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        
+        StreamingResponseBody body = out ->
+                registrationService.exportRegistrationsForOrganizerEvents(organizerId, format, out);
+        
+        return ResponseEntity.ok()
+                .contentType(csv ? MediaType.parseMediaType("text/csv") : MediaType.parseMediaType("application/x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"registrations-" + organizerId + (csv ? ".csv" : ".ndjson") + "\"")
+                .body(body);
+    }
+    
     // Get registrations by user
     @GetMapping("/user/{userId}")
     public ResponseEntity<List<EventRegistration>> getUserRegistrations(@PathVariable Long userId) {
@@ -99,13 +211,12 @@ public class EventRegistrationController {
             @RequestParam Long userId) {
         try {
             boolean isRegistered = registrationService.isUserRegistered(eventId, userId);
-            long registrationCount = registrationService.getRegistrationCount(eventId);
-            int remainingCapacity = registrationService.getRemainingCapacity(eventId);
+            RegistrationStats stats = registrationService.getRegistrationStats(eventId);
             
             Map<String, Object> response = new HashMap<>();
             response.put("isRegistered", isRegistered);
-            response.put("registrationCount", registrationCount);
-            response.put("remainingCapacity", remainingCapacity);
+            response.put("registrationCount", stats.confirmed());
+            response.put("remainingCapacity", stats.remainingCapacity());
             
             return new ResponseEntity<>(response, HttpStatus.OK);
         } catch (Exception e) {
@@ -113,16 +224,36 @@ public class EventRegistrationController {
         }
     }
     
+    // Registration status and waitlist position; cheap enough to poll while waiting for a seat
+    @GetMapping("/position")
+    public ResponseEntity<?> getWaitlistPosition(@RequestParam Long eventId, @RequestParam Long userId) {
+        try {
+            return new ResponseEntity<>(waitlistService.getPosition(eventId, userId), HttpStatus.OK);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.NOT_FOUND);
+        }
+    }
+    
+    // Live seat availability for one or more events over SSE: /stream?eventIds=1,2,3
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<?> streamSeatAvailability(@RequestParam List<Long> eventIds) {
+        if (eventIds.isEmpty() || eventIds.size() > MAX_STREAMED_EVENTS) {
+            return new ResponseEntity<>("Between 1 and " + MAX_STREAMED_EVENTS + " event IDs are required",
+                    HttpStatus.BAD_REQUEST);
+        }
+        return new ResponseEntity<>(seatPublisher.subscribe(new LinkedHashSet<>(eventIds)), HttpStatus.OK);
+    }
+    
     // Get registration statistics for event
     @GetMapping("/stats/{eventId}")
     public ResponseEntity<Map<String, Object>> getRegistrationStats(@PathVariable Long eventId) {
         try {
-            long registrationCount = registrationService.getRegistrationCount(eventId);
-            int remainingCapacity = registrationService.getRemainingCapacity(eventId);
+            RegistrationStats registrationStats = registrationService.getRegistrationStats(eventId);
             
             Map<String, Object> stats = new HashMap<>();
-            stats.put("totalRegistrations", registrationCount);
-            stats.put("remainingCapacity", remainingCapacity);
+            stats.put("totalRegistrations", registrationStats.confirmed());
+            stats.put("cancelledRegistrations", registrationStats.cancelled());
+            stats.put("remainingCapacity", registrationStats.remainingCapacity());
             
             return new ResponseEntity<>(stats, HttpStatus.OK);
         } catch (Exception e) {
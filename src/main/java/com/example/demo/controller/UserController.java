@@ -3,48 +3,57 @@ package com.example.demo.controller;
 import com.example.demo.model.User;
 import com.example.demo.service.UserService;
 import com.example.demo.dto.LoginRequest;
+import com.example.demo.exception.TooManyRequestsException;
+import com.example.demo.util.LogSampler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.validation.BindingResult;
 import jakarta.validation.Valid;
 
+import java.time.Duration;
 import java.util.Map;
 import java.util.Optional;
 import java.util.List;
 import java.util.HashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @RestController
 @RequestMapping("/api/users")
 public class UserController {
     
+    private static final Logger log = LoggerFactory.getLogger(UserController.class);
+    private static final LogSampler REJECTED_SAMPLER = new LogSampler(Duration.ofSeconds(1));
+    
     @Autowired
     private UserService userService;
     
     // Create user (Admin function)
     @PostMapping
     public ResponseEntity<?> createUser(@Valid @RequestBody User user, BindingResult bindingResult) {
-        System.out.println("=== DEBUG: User Creation Request ===");
-        System.out.println("User data: " + user);
-        System.out.println("Has validation errors: " + bindingResult.hasErrors());
-        
         if (bindingResult.hasErrors()) {
             Map<String, String> errors = new HashMap<>();
-            bindingResult.getFieldErrors().forEach(error -> {
-                System.out.println("Validation error - Field: " + error.getField() + ", Message: " + error.getDefaultMessage());
-                errors.put(error.getField(), error.getDefaultMessage());
-            });
+            bindingResult.getFieldErrors().forEach(error ->
+                errors.put(error.getField(), error.getDefaultMessage())
+            );
+            logRejected("Rejected user creation, invalid fields {}", errors.keySet());
             return new ResponseEntity<>(errors, HttpStatus.BAD_REQUEST);
         }
         
         try {
             User createdUser = userService.createUser(user);
             createdUser.setPassword(null); // Don't return password
-            System.out.println("User created successfully: " + createdUser.getEmail());
+            log.info("Created user {}", createdUser.getId());
             return new ResponseEntity<>(createdUser, HttpStatus.CREATED);
+        } catch (TooManyRequestsException e) {
+            throw e; // handled by GlobalExceptionHandler as 429
         } catch (RuntimeException e) {
-            System.out.println("Error creating user: " + e.getMessage());
+            logRejected("Rejected user creation: {}", e.getMessage());
             if (e.getMessage().contains("already exists")) {
                 return new ResponseEntity<>("Email already exists", HttpStatus.BAD_REQUEST);
             }
@@ -53,45 +62,59 @@ public class UserController {
     }
     
     @PostMapping("/signup")
-    public ResponseEntity<?> signup(@Valid @RequestBody User user, BindingResult bindingResult) {
+    public CompletableFuture<ResponseEntity<?>> signup(@Valid @RequestBody User user, BindingResult bindingResult) {
         if (bindingResult.hasErrors()) {
             Map<String, String> errors = new HashMap<>();
             bindingResult.getFieldErrors().forEach(error -> 
                 errors.put(error.getField(), error.getDefaultMessage())
             );
-            return new ResponseEntity<>(errors, HttpStatus.BAD_REQUEST);
+            logRejected("Rejected signup, invalid fields {}", errors.keySet());
+            return CompletableFuture.completedFuture(new ResponseEntity<>(errors, HttpStatus.BAD_REQUEST));
         }
         
-        try {
-            User createdUser = userService.createUser(user);
-            createdUser.setPassword(null); // Don't return password
-            return new ResponseEntity<>(createdUser, HttpStatus.CREATED);
-        } catch (RuntimeException e) {
-            if (e.getMessage().contains("already exists")) {
-                return new ResponseEntity<>("Email already exists", HttpStatus.BAD_REQUEST);
-            }
-            return new ResponseEntity<>("Registration failed", HttpStatus.BAD_REQUEST);
-        }
+        return userService.createUserAsync(user)
+                .<ResponseEntity<?>>thenApply(createdUser -> {
+                    createdUser.setPassword(null); // Don't return password
+                    return new ResponseEntity<>(createdUser, HttpStatus.CREATED);
+                })
+                .exceptionally(e -> {
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    if (cause instanceof TooManyRequestsException tooMany) {
+                        return tooManyRequests(tooMany);
+                    }
+                    if (cause.getMessage() != null && cause.getMessage().contains("already exists")) {
+                        return new ResponseEntity<>("Email already exists", HttpStatus.BAD_REQUEST);
+                    }
+                    return new ResponseEntity<>("Registration failed", HttpStatus.BAD_REQUEST);
+                });
     }
     
     @PostMapping("/login")
-    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest loginRequest, BindingResult bindingResult) {
+    public CompletableFuture<ResponseEntity<?>> login(@Valid @RequestBody LoginRequest loginRequest, BindingResult bindingResult) {
         if (bindingResult.hasErrors()) {
             Map<String, String> errors = new HashMap<>();
             bindingResult.getFieldErrors().forEach(error -> 
                 errors.put(error.getField(), error.getDefaultMessage())
             );
-            return new ResponseEntity<>(errors, HttpStatus.BAD_REQUEST);
-        }
-        
-        Optional<User> userOpt = userService.getUserByEmail(loginRequest.getEmail());
-        if (userOpt.isEmpty() || !userService.checkPassword(userOpt.get(), loginRequest.getPassword())) {
-            return new ResponseEntity<>("Invalid email or password", HttpStatus.UNAUTHORIZED);
+            return CompletableFuture.completedFuture(new ResponseEntity<>(errors, HttpStatus.BAD_REQUEST));
         }
         
-        User user = userOpt.get();
-        user.setPassword(null); // Don't return password
-        return new ResponseEntity<>(user, HttpStatus.OK);
+        return userService.authenticateAsync(loginRequest.getEmail(), loginRequest.getPassword())
+                .<ResponseEntity<?>>thenApply(userOpt -> {
+                    if (userOpt.isEmpty()) {
+                        return new ResponseEntity<>("Invalid email or password", HttpStatus.UNAUTHORIZED);
+                    }
+                    User user = userOpt.get();
+                    user.setPassword(null); // Don't return password
+                    return new ResponseEntity<>(user, HttpStatus.OK);
+                })
+                .exceptionally(e -> {
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    if (cause instanceof TooManyRequestsException tooMany) {
+                        return tooManyRequests(tooMany);
+                    }
+                    return new ResponseEntity<>("Login failed", HttpStatus.INTERNAL_SERVER_ERROR);
+                });
     }
     
     // Get all
@@ -101,6 +124,31 @@ public class UserController {
         return new ResponseEntity<>(users, HttpStatus.OK);
     }
     
+    // Bad input can arrive at flood rates; one line per interval says how many were folded into it
+    private static void logRejected(String message, Object detail) {
+        long suppressed = REJECTED_SAMPLER.sample();
+        if (suppressed >= 0) {
+            log.info(message + " ({} similar suppressed)", detail, suppressed);
+        }
+    }
+    
+    private static ResponseEntity<?> tooManyRequests(TooManyRequestsException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(e.getMessage());
+    }
+    
+    // Keyset-paginated summaries
+    @GetMapping("/page")
+    public ResponseEntity<?> getUserPage(@RequestParam(required = false) String cursor,
+                                         @RequestParam(required = false) Integer size) {
+        try {
+            return new ResponseEntity<>(userService.getUserPage(cursor, size), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+    
     // Get ID
     @GetMapping("/{id}")
     public ResponseEntity<User> getUserById(@PathVariable Long id) {
@@ -129,9 +177,10 @@ public class UserController {
         try {
             User updatedUser = userService.updateUser(id, userDetails);
             return new ResponseEntity<>(updatedUser, HttpStatus.OK);
+        } catch (TooManyRequestsException e) {
+            throw e; // handled by GlobalExceptionHandler as 429
         } catch (RuntimeException e) {
-            System.out.println("Update error: " + e.getMessage());
-            e.printStackTrace();
+            log.warn("Failed to update user {}: {}", id, e.getMessage());
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         }
     }
@@ -0,0 +1,11 @@
+package com.example.demo.dto;
+
+// Outcome for one user of a batch registration; registrationId is set when REGISTERED or WAITLISTED
+public record BatchRegistrationResult(Long userId, String status, Long registrationId) {
+
+    public static final String REGISTERED = "REGISTERED";
+    public static final String ALREADY_REGISTERED = "ALREADY_REGISTERED";
+    public static final String USER_NOT_FOUND = "USER_NOT_FOUND";
+    public static final String ORGANIZER = "ORGANIZER";
+    public static final String WAITLISTED = "WAITLISTED";
+}
@@ -0,0 +1,47 @@
+package com.example.demo.dto;
+
+import com.example.demo.model.Event;
+import com.example.demo.model.EventRegistration;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact JSON form of a list: the column names once, then one array per row. Values that
+ * are the same on every row (the event of a registration list) are sent once in header.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ColumnarTable(Map<String, Object> header, List<String> columns, List<Object[]> rows) {
+
+    private static final List<String> EVENT_COLUMNS = List.of("id", "title", "description", "eventDate", "location",
+            "capacity", "organizerId", "organizerName", "confirmedCount", "cancelledCount", "version");
+
+    private static final List<String> REGISTRATION_COLUMNS = List.of("id", "userId", "userName", "userEmail",
+            "status", "registrationDate", "version");
+
+    public static ColumnarTable ofEvents(List<Event> events) {
+        List<Object[]> rows = new ArrayList<>(events.size());
+        for (Event e : events) {
+            rows.add(new Object[] {e.getId(), e.getTitle(), e.getDescription(), e.getEventDate(), e.getLocation(),
+                    e.getCapacity(), e.getOrganizerId(), e.getOrganizerName(), e.getConfirmedCount(),
+                    e.getCancelledCount(), e.getVersion()});
+        }
+        return new ColumnarTable(null, EVENT_COLUMNS, rows);
+    }
+
+    // eventTitle is denormalized onto every registration; the first row's copy stands for all
+    public static ColumnarTable ofRegistrations(Long eventId, List<EventRegistration> registrations) {
+        Map<String, Object> header = new LinkedHashMap<>();
+        header.put("eventId", eventId);
+        header.put("eventTitle", registrations.isEmpty() ? null : registrations.get(0).getEventTitle());
+        List<Object[]> rows = new ArrayList<>(registrations.size());
+        for (EventRegistration r : registrations) {
+            rows.add(new Object[] {r.getId(), r.getUserId(), r.getUserName(), r.getUserEmail(),
+                    r.getStatus(), r.getRegistrationDate(), r.getVersion()});
+        }
+        return new ColumnarTable(header, REGISTRATION_COLUMNS, rows);
+    }
+}
@@ -0,0 +1,5 @@
+package com.example.demo.dto;
+
+// Number of registration rows (any status) an event has
+public record EventRegistrationCount(Long eventId, Long registrations) {
+}
@@ -0,0 +1,7 @@
+package com.example.demo.dto;
+
+import java.util.List;
+
+// One page of ranked search hits; total counts every matching event
+public record EventSearchResult(List<EventSummary> items, int total, int page, int size) {
+}
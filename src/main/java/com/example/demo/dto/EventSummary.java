@@ -0,0 +1,14 @@
+package com.example.demo.dto;
+
+import java.time.LocalDateTime;
+
+// Listing projection of Event without the description or live registration counters
+public record EventSummary(
+        Long id,
+        String title,
+        LocalDateTime eventDate,
+        String location,
+        Integer capacity,
+        Long organizerId,
+        String organizerName) {
+}
@@ -0,0 +1,6 @@
+package com.example.demo.dto;
+
+// Outbox payload for registration side effects (confirmation emails, organizer notices, analytics)
+public record RegistrationNotification(Long registrationId, Long eventId, String eventTitle, Long userId,
+                                       String userName, String userEmail, String status) {
+}
@@ -0,0 +1,7 @@
+package com.example.demo.dto;
+
+// Registration tallies for one event, read from the counters on the event row
+public record RegistrationStats(long confirmed, long cancelled, int remainingCapacity) {
+
+    public static final RegistrationStats EMPTY = new RegistrationStats(0, 0, 0);
+}
@@ -0,0 +1,14 @@
+package com.example.demo.dto;
+
+import java.time.LocalDateTime;
+
+// Listing projection of EventRegistration without the denormalized event title
+public record RegistrationSummary(
+        Long id,
+        Long eventId,
+        Long userId,
+        String userName,
+        String userEmail,
+        String status,
+        LocalDateTime registrationDate) {
+}
@@ -0,0 +1,5 @@
+package com.example.demo.dto;
+
+// Live seat numbers for one event, as pushed to SSE subscribers
+public record SeatAvailability(Long eventId, long confirmed, int remainingCapacity) {
+}
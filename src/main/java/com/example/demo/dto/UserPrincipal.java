@@ -0,0 +1,15 @@
+package com.example.demo.dto;
+
+import com.example.demo.model.Role;
+
+// What authorization and event ownership need to know about a user; cached by UserService
+public record UserPrincipal(Long id, String firstName, String lastName, Role role) {
+    
+    public boolean isAdmin() {
+        return role == Role.ADMIN;
+    }
+    
+    public String displayName() {
+        return firstName + " " + lastName;
+    }
+}
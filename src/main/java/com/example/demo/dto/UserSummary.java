@@ -0,0 +1,5 @@
+package com.example.demo.dto;
+
+// Listing projection of User; never carries the password hash
+public record UserSummary(Long id, String firstName, String lastName, String email) {
+}
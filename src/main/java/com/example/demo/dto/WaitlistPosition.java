@@ -0,0 +1,5 @@
+package com.example.demo.dto;
+
+// A user's place for one event; position is 1-based and only set while the registration is PENDING
+public record WaitlistPosition(Long registrationId, String status, Long position) {
+}
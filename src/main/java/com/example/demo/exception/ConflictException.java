@@ -0,0 +1,9 @@
+package com.example.demo.exception;
+
+// A concurrent edit won; mapped to 409 so the client can reload and try again
+public class ConflictException extends RuntimeException {
+    
+    public ConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.demo.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+// An Event moved out of the hot table by EventArchiver; written only by its INSERT ... SELECT
+@Entity
+@Immutable
+@Table(name = "events_archive", indexes = {
+    @Index(name = "idx_events_archive_organizer", columnList = "organizer_id")
+})
+@Data
+@NoArgsConstructor
+public class ArchivedEvent {
+    
+    @Id
+    private Long id;
+    
+    @Column(nullable = false)
+    private String title;
+    
+    @Column(length = 500)
+    private String description;
+    
+    @Column(nullable = false)
+    private LocalDateTime eventDate;
+    
+    @Column(nullable = false)
+    private String location;
+    
+    @Column(nullable = false)
+    private Integer capacity;
+    
+    @Column(nullable = false)
+    private Long organizerId;
+    
+    private String organizerName;
+    
+    @Column(nullable = false)
+    private Integer confirmedCount;
+    
+    @Column(nullable = false)
+    private Integer cancelledCount;
+    
+    @Column(nullable = false)
+    private Long version;
+    
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+}
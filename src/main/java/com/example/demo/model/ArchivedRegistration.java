@@ -0,0 +1,50 @@
+package com.example.demo.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+// An EventRegistration archived together with its event by EventArchiver
+@Entity
+@Immutable
+@Table(name = "event_registrations_archive", indexes = {
+    @Index(name = "idx_registrations_archive_event", columnList = "event_id"),
+    @Index(name = "idx_registrations_archive_user", columnList = "user_id")
+})
+@Data
+@NoArgsConstructor
+public class ArchivedRegistration {
+    
+    @Id
+    private Long id;
+    
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+    
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    
+    @Column(nullable = false)
+    private LocalDateTime registrationDate;
+    
+    @Column(length = 20, nullable = false)
+    private String status;
+    
+    @Column(name = "user_name")
+    private String userName;
+    
+    @Column(name = "user_email")
+    private String userEmail;
+    
+    @Column(name = "event_title")
+    private String eventTitle;
+    
+    @Column(nullable = false)
+    private Long version;
+    
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -8,7 +8,10 @@ import lombok.AllArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "events")
+@Table(name = "events", indexes = {
+    @Index(name = "idx_events_organizer", columnList = "organizer_id"),
+    @Index(name = "idx_events_date", columnList = "event_date")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -37,4 +40,15 @@ public class Event {
     private Long organizerId; // Foreign key to User
     
     private String organizerName; // For easy display
+    
+    // Registration tallies, only ever changed through EventRepository's counter updates
+    @Column(nullable = false, updatable = false)
+    private Integer confirmedCount = 0;
+    
+    @Column(nullable = false, updatable = false)
+    private Integer cancelledCount = 0;
+    
+    // Optimistic lock for edits; the counter updates above bypass it
+    @Version
+    private Long version;
 }
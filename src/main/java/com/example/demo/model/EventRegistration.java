@@ -10,14 +10,20 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "event_registrations", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"event_id", "user_id"})
+}, indexes = {
+    // The unique constraint's index already serves lookups by event_id alone
+    @Index(name = "idx_registrations_user", columnList = "user_id"),
+    @Index(name = "idx_registrations_event_status_position", columnList = "event_id, status, waitlist_position")
 })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class EventRegistration {
     
+    // Pooled sequence rather than IDENTITY so inserts can be JDBC-batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "event_registrations_seq")
+    @SequenceGenerator(name = "event_registrations_seq", sequenceName = "event_registrations_seq", allocationSize = 50)
     private Long id;
     
     @Column(name = "event_id", nullable = false)
@@ -32,6 +38,10 @@ public class EventRegistration {
     @Column(length = 20, nullable = false)
     private String status = "CONFIRMED"; // CONFIRMED, CANCELLED, PENDING
     
+    // Place in the event's waitlist, set when joining it as PENDING; see WaitlistService
+    @Column(name = "waitlist_position")
+    private Long waitlistPosition;
+    
     // Optional: Store user and event info for easy access
     @Column(name = "user_name")
     private String userName;
@@ -42,6 +52,9 @@ public class EventRegistration {
     @Column(name = "event_title")
     private String eventTitle;
     
+    @Version
+    private Long version;
+    
     @PrePersist
     protected void onCreate() {
         registrationDate = LocalDateTime.now();
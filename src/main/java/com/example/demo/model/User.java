@@ -1,10 +1,12 @@
 package com.example.demo.model;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
+import lombok.ToString;
 
 @Entity
 @Table(name = "users")
@@ -39,5 +41,12 @@ public class User {
         message = "Password must contain: 1 uppercase, 1 lowercase, 1 number, 1 special character (@$!%*?&)"
     )
     @Column(nullable = false)
+    @ToString.Exclude // never in logs, hashed or not
     private String password;
+    
+    // Granted by UserService, never taken from a request body
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Role role = Role.USER;
 }
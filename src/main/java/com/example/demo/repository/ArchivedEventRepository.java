@@ -0,0 +1,27 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.ArchivedEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ArchivedEventRepository extends JpaRepository<ArchivedEvent, Long> {
+    
+    List<ArchivedEvent> findByOrganizerIdOrderByEventDateDesc(Long organizerId);
+    
+    // Copies events into the archive in one statement; the caller deletes the originals in the same transaction
+    @Modifying
+    @Query(value = "INSERT INTO events_archive (id, title, description, event_date, location, capacity, organizer_id, " +
+                   "organizer_name, confirmed_count, cancelled_count, version, archived_at) " +
+                   "SELECT id, title, description, event_date, location, capacity, organizer_id, organizer_name, " +
+                   "confirmed_count, cancelled_count, version, :archivedAt FROM events WHERE id IN (:eventIds)",
+           nativeQuery = true)
+    int copyFromEvents(@Param("eventIds") Collection<Long> eventIds, @Param("archivedAt") LocalDateTime archivedAt);
+}
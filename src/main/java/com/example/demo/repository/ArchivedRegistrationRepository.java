@@ -0,0 +1,29 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.ArchivedRegistration;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ArchivedRegistrationRepository extends JpaRepository<ArchivedRegistration, Long> {
+    
+    List<ArchivedRegistration> findByEventIdOrderByIdAsc(Long eventId);
+    
+    List<ArchivedRegistration> findByUserIdOrderByIdDesc(Long userId);
+    
+    // Copies every registration of the given events into the archive
+    @Modifying
+    @Query(value = "INSERT INTO event_registrations_archive (id, event_id, user_id, registration_date, status, " +
+                   "user_name, user_email, event_title, version, archived_at) " +
+                   "SELECT id, event_id, user_id, registration_date, status, user_name, user_email, event_title, " +
+                   "version, :archivedAt FROM event_registrations WHERE event_id IN (:eventIds)",
+           nativeQuery = true)
+    int copyFromRegistrations(@Param("eventIds") Collection<Long> eventIds, @Param("archivedAt") LocalDateTime archivedAt);
+}
@@ -1,13 +1,22 @@
 package com.example.demo.repository;
 
+import com.example.demo.dto.EventRegistrationCount;
+import com.example.demo.dto.RegistrationSummary;
 import com.example.demo.model.EventRegistration;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface EventRegistrationRepository extends JpaRepository<EventRegistration, Long> {
@@ -30,8 +39,48 @@ public interface EventRegistrationRepository extends JpaRepository<EventRegistra
     // Check if user is registered for an event
     boolean existsByEventIdAndUserId(Long eventId, Long userId);
     
+    // Which of these users already have a registration for the event
+    @Query("SELECT er.userId FROM EventRegistration er WHERE er.eventId = :eventId AND er.userId IN :userIds")
+    List<Long> findRegisteredUserIds(@Param("eventId") Long eventId, @Param("userIds") Collection<Long> userIds);
+    
     // Find all registrations for events organized by a specific user
     @Query("SELECT er FROM EventRegistration er WHERE er.eventId IN " +
            "(SELECT e.id FROM Event e WHERE e.organizerId = :organizerId)")
     List<EventRegistration> findRegistrationsForOrganizerEvents(@Param("organizerId") Long organizerId);
-}
\ No newline at end of file
+    
+    // Same rows as above, streamed for exports; the caller must hold a read-only transaction
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT er FROM EventRegistration er WHERE er.eventId IN " +
+           "(SELECT e.id FROM Event e WHERE e.organizerId = :organizerId)")
+    Stream<EventRegistration> streamRegistrationsForOrganizerEvents(@Param("organizerId") Long organizerId);
+    
+    // Waitlist head first; (event_id, status, waitlist_position) indexes the queue in order
+    List<EventRegistration> findByEventIdAndStatusOrderByWaitlistPositionAsc(Long eventId, String status, Limit limit);
+    
+    // Entries queued ahead of the given position
+    long countByEventIdAndStatusAndWaitlistPositionLessThan(Long eventId, String status, Long waitlistPosition);
+    
+    // Last position in an event's waitlist, if anyone is queued
+    @Query("SELECT er.waitlistPosition FROM EventRegistration er " +
+           "WHERE er.eventId = :eventId AND er.status = 'PENDING' ORDER BY er.waitlistPosition DESC")
+    List<Long> findWaitlistTail(@Param("eventId") Long eventId, Limit limit);
+    
+    // Keyset pages of an event's registrations ordered by id
+    @Query("SELECT new com.example.demo.dto.RegistrationSummary(er.id, er.eventId, er.userId, er.userName, er.userEmail, er.status, er.registrationDate) " +
+           "FROM EventRegistration er WHERE er.eventId = :eventId AND er.id > :afterId ORDER BY er.id")
+    List<RegistrationSummary> findSummariesByEventIdAfterId(@Param("eventId") Long eventId,
+                                                            @Param("afterId") Long afterId, Limit limit);
+    
+    // Registration rows per event, for sizing archive chunks
+    @Query("SELECT new com.example.demo.dto.EventRegistrationCount(er.eventId, COUNT(er)) " +
+           "FROM EventRegistration er WHERE er.eventId IN :eventIds GROUP BY er.eventId")
+    List<EventRegistrationCount> countByEventIds(@Param("eventIds") Collection<Long> eventIds);
+    
+    // Removes archived registrations; ArchivedRegistrationRepository.copyFromRegistrations runs first
+    @Modifying
+    @Query("DELETE FROM EventRegistration er WHERE er.eventId IN :eventIds")
+    int deleteByEventIds(@Param("eventIds") Collection<Long> eventIds);
+}
@@ -1,17 +1,114 @@
 package com.example.demo.repository;
 
+import com.example.demo.dto.EventSummary;
 import com.example.demo.model.Event;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface EventRepository extends JpaRepository<Event, Long> {
     
     List<Event> findByOrganizerId(Long organizerId);
     
-    List<Event> findByTitleContainingIgnoreCase(String title);
+    // Every event, streamed for rebuilding in-memory indexes; needs a read-only transaction
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT e FROM Event e")
+    Stream<Event> streamAll();
     
-    List<Event> findByLocationContainingIgnoreCase(String location);
+    // Keyset pages ordered by id
+    @Query("SELECT new com.example.demo.dto.EventSummary(e.id, e.title, e.eventDate, e.location, e.capacity, e.organizerId, e.organizerName) " +
+           "FROM Event e WHERE e.id > :afterId ORDER BY e.id")
+    List<EventSummary> findSummariesAfterId(@Param("afterId") Long afterId, Limit limit);
+    
+    // Keyset pages ordered by (eventDate, id); the leading range keeps idx_events_date usable
+    @Query("SELECT new com.example.demo.dto.EventSummary(e.id, e.title, e.eventDate, e.location, e.capacity, e.organizerId, e.organizerName) " +
+           "FROM Event e WHERE e.eventDate >= :afterDate AND (e.eventDate > :afterDate OR e.id > :afterId) " +
+           "ORDER BY e.eventDate, e.id")
+    List<EventSummary> findSummariesAfterDate(@Param("afterDate") LocalDateTime afterDate,
+                                              @Param("afterId") Long afterId, Limit limit);
+    
+    // Summaries dated in [from, to), ordered by (eventDate, id); served by idx_events_date
+    @Query("SELECT new com.example.demo.dto.EventSummary(e.id, e.title, e.eventDate, e.location, e.capacity, e.organizerId, e.organizerName) " +
+           "FROM Event e WHERE e.eventDate >= :from AND e.eventDate < :to ORDER BY e.eventDate, e.id")
+    List<EventSummary> findSummariesBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to, Limit limit);
+    
+    // Summaries dated from the given time on, streamed for loading the calendar index; needs a transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.example.demo.dto.EventSummary(e.id, e.title, e.eventDate, e.location, e.capacity, e.organizerId, e.organizerName) " +
+           "FROM Event e WHERE e.eventDate >= :from")
+    Stream<EventSummary> streamSummariesFrom(@Param("from") LocalDateTime from);
+    
+    // Oldest events dated before the cutoff, for archiving
+    @Query("SELECT new com.example.demo.dto.EventSummary(e.id, e.title, e.eventDate, e.location, e.capacity, e.organizerId, e.organizerName) " +
+           "FROM Event e WHERE e.eventDate < :cutoff ORDER BY e.eventDate, e.id")
+    List<EventSummary> findSummariesBefore(@Param("cutoff") LocalDateTime cutoff, Limit limit);
+    
+    // Removes archived events; ArchivedEventRepository.copyFromEvents runs first
+    @Modifying
+    @Query("DELETE FROM Event e WHERE e.id IN :eventIds")
+    int deleteByIds(@Param("eventIds") Collection<Long> eventIds);
+    
+    // Take one seat if any is left; returns 0 when the event is full (or missing)
+    @Modifying
+    @Query("UPDATE Event e SET e.confirmedCount = e.confirmedCount + 1 " +
+           "WHERE e.id = :eventId AND e.confirmedCount < e.capacity")
+    int reserveSeat(@Param("eventId") Long eventId);
+    
+    // Take several seats at once; callers hold the row lock from findByIdForUpdate
+    @Modifying
+    @Query("UPDATE Event e SET e.confirmedCount = e.confirmedCount + :seats " +
+           "WHERE e.id = :eventId AND e.confirmedCount + :seats <= e.capacity")
+    int reserveSeats(@Param("eventId") Long eventId, @Param("seats") int seats);
+    
+    @Query("SELECT e.confirmedCount FROM Event e WHERE e.id = :eventId")
+    int findConfirmedCount(@Param("eventId") Long eventId);
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM Event e WHERE e.id = :eventId")
+    Optional<Event> findByIdForUpdate(@Param("eventId") Long eventId);
+    
+    // Give a seat back after a confirmed registration is cancelled
+    @Modifying
+    @Query("UPDATE Event e SET e.confirmedCount = e.confirmedCount - 1, e.cancelledCount = e.cancelledCount + 1 " +
+           "WHERE e.id = :eventId AND e.confirmedCount > 0")
+    int releaseSeat(@Param("eventId") Long eventId);
+    
+    // A waitlisted registration was cancelled; no seat changes hands
+    @Modifying
+    @Query("UPDATE Event e SET e.cancelledCount = e.cancelledCount + 1 WHERE e.id = :eventId")
+    int recordCancellation(@Param("eventId") Long eventId);
+    
+    // Events whose tallies no longer match event_registrations; read-only, each is then corrected under its row lock
+    @Query("SELECT e.id FROM Event e " +
+           "WHERE e.confirmedCount <> (SELECT COUNT(er) FROM EventRegistration er WHERE er.eventId = e.id AND er.status = 'CONFIRMED') " +
+           "OR e.cancelledCount <> (SELECT COUNT(er) FROM EventRegistration er WHERE er.eventId = e.id AND er.status = 'CANCELLED')")
+    List<Long> findDriftedEventIds();
+    
+    // Recompute one event's tallies from event_registrations; callers hold the row lock from findByIdForUpdate
+    @Modifying
+    @Query("UPDATE Event e SET " +
+           "e.confirmedCount = (SELECT COUNT(er) FROM EventRegistration er WHERE er.eventId = e.id AND er.status = 'CONFIRMED'), " +
+           "e.cancelledCount = (SELECT COUNT(er) FROM EventRegistration er WHERE er.eventId = e.id AND er.status = 'CANCELLED') " +
+           "WHERE e.id = :eventId " +
+           "AND (e.confirmedCount <> (SELECT COUNT(er) FROM EventRegistration er WHERE er.eventId = e.id AND er.status = 'CONFIRMED') " +
+           "OR e.cancelledCount <> (SELECT COUNT(er) FROM EventRegistration er WHERE er.eventId = e.id AND er.status = 'CANCELLED'))")
+    int reconcileRegistrationCounts(@Param("eventId") Long eventId);
 }
@@ -0,0 +1,22 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.OutboxMessage;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, Long> {
+    
+    // Next batch that is due, oldest first
+    List<OutboxMessage> findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(String status, LocalDateTime now, Limit limit);
+    
+    long countByStatus(String status);
+    
+    // Oldest undelivered message, for the lag gauge
+    Optional<OutboxMessage> findFirstByStatusOrderByNextAttemptAtAsc(String status);
+}
@@ -1,9 +1,15 @@
 package com.example.demo.repository;
 
+import com.example.demo.dto.UserPrincipal;
+import com.example.demo.dto.UserSummary;
 import com.example.demo.model.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -13,4 +19,14 @@ public interface UserRepository extends JpaRepository<User, Long> {
     // find by for single
 //    List<User>findByFirstName(String Name);
     boolean existsByEmail(String email);
+    
+    // Keyset pages ordered by id
+    @Query("SELECT new com.example.demo.dto.UserSummary(u.id, u.firstName, u.lastName, u.email) " +
+           "FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<UserSummary> findSummariesAfterId(@Param("afterId") Long afterId, Limit limit);
+    
+    // Just the columns authorization needs, without materializing the entity
+    @Query("SELECT new com.example.demo.dto.UserPrincipal(u.id, u.firstName, u.lastName, u.role) " +
+           "FROM User u WHERE u.id = :id")
+    Optional<UserPrincipal> findPrincipalById(@Param("id") Long id);
 }
@@ -0,0 +1,42 @@
+package com.example.demo.service;
+
+import com.example.demo.model.ArchivedEvent;
+import com.example.demo.model.ArchivedRegistration;
+import com.example.demo.repository.ArchivedEventRepository;
+import com.example.demo.repository.ArchivedRegistrationRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+
+// Read-only access to events and registrations EventArchiver has moved out of the hot tables
+@Service
+@Timed(value = "app.service", histogram = true)
+public class ArchiveService {
+    
+    @Autowired
+    private ArchivedEventRepository archivedEventRepository;
+    
+    @Autowired
+    private ArchivedRegistrationRepository archivedRegistrationRepository;
+    
+    public Optional<ArchivedEvent> getArchivedEvent(Long eventId) {
+        return archivedEventRepository.findById(eventId);
+    }
+    
+    // Most recent first
+    public List<ArchivedEvent> getArchivedEventsByOrganizer(Long organizerId) {
+        return archivedEventRepository.findByOrganizerIdOrderByEventDateDesc(organizerId);
+    }
+    
+    public List<ArchivedRegistration> getArchivedRegistrations(Long eventId) {
+        return archivedRegistrationRepository.findByEventIdOrderByIdAsc(eventId);
+    }
+    
+    // Most recent first
+    public List<ArchivedRegistration> getArchivedRegistrationsByUser(Long userId) {
+        return archivedRegistrationRepository.findByUserIdOrderByIdDesc(userId);
+    }
+}
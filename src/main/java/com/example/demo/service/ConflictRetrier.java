@@ -0,0 +1,81 @@
+package com.example.demo.service;
+
+import com.example.demo.exception.ConflictException;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Runs a transactional service call and handles optimistic-lock failures.
+ *
+ * Idempotent operations go through {@link #retry}: each attempt is a fresh transaction, with
+ * full-jitter backoff between attempts. Other operations go through {@link #once}, which turns a
+ * conflict straight into a {@link ConflictException}. Either way the call must not already be
+ * inside a transaction, because a failed attempt has to roll back before the next one starts.
+ *
+ * Counters (tagged by operation): app.optimistic.conflicts, app.optimistic.retries,
+ * app.optimistic.exhausted.
+ */
+@Component
+public class ConflictRetrier {
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${app.concurrency.retry.max-attempts:3}")
+    private int maxAttempts;
+    
+    @Value("${app.concurrency.retry.base-backoff-ms:10}")
+    private long baseBackoffMs;
+    
+    @Value("${app.concurrency.retry.max-backoff-ms:200}")
+    private long maxBackoffMs;
+    
+    public <T> T retry(String operation, Supplier<T> action) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return action.get();
+            } catch (OptimisticLockingFailureException e) {
+                meterRegistry.counter("app.optimistic.conflicts", "operation", operation).increment();
+                if (attempt >= maxAttempts) {
+                    meterRegistry.counter("app.optimistic.exhausted", "operation", operation).increment();
+                    throw new ConflictException("The record was changed concurrently, please try again");
+                }
+                meterRegistry.counter("app.optimistic.retries", "operation", operation).increment();
+                backOff(attempt);
+            }
+        }
+    }
+    
+    public void retry(String operation, Runnable action) {
+        retry(operation, () -> {
+            action.run();
+            return null;
+        });
+    }
+    
+    public <T> T once(String operation, Supplier<T> action) {
+        try {
+            return action.get();
+        } catch (OptimisticLockingFailureException e) {
+            meterRegistry.counter("app.optimistic.conflicts", "operation", operation).increment();
+            throw new ConflictException("The record was changed concurrently, please reload it");
+        }
+    }
+    
+    // Full jitter: a random sleep up to an exponentially growing, capped ceiling
+    private void backOff(int attempt) {
+        long ceiling = Math.min(maxBackoffMs, baseBackoffMs << Math.min(attempt - 1, 20));
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException("Interrupted while retrying a conflicting update");
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.EventRegistrationCount;
+import com.example.demo.dto.EventSummary;
+import com.example.demo.repository.ArchivedEventRepository;
+import com.example.demo.repository.ArchivedRegistrationRepository;
+import com.example.demo.repository.EventRegistrationRepository;
+import com.example.demo.repository.EventRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moves events dated more than app.archive.horizon ago, with all their registrations, from the
+ * hot tables into events_archive and event_registrations_archive. Each transaction copies and
+ * deletes whole events, adding events while their registrations fit in app.archive.chunk-rows
+ * (an event with more goes alone), so no transaction grows with the backlog. Registrations for
+ * past events are refused, so nothing is written to an event while it is being moved.
+ */
+@Component
+@ConditionalOnProperty(name = "app.archive.enabled", havingValue = "true", matchIfMissing = true)
+public class EventArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(EventArchiver.class);
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EventRegistrationRepository registrationRepository;
+
+    @Autowired
+    private ArchivedEventRepository archivedEventRepository;
+
+    @Autowired
+    private ArchivedRegistrationRepository archivedRegistrationRepository;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.archive.horizon:90d}")
+    private Duration horizon;
+
+    @Value("${app.archive.chunk-rows:5000}")
+    private int chunkRows;
+
+    @Value("${app.archive.scan-size:200}")
+    private int scanSize;
+
+    @Scheduled(initialDelayString = "${app.archive.interval-ms:3600000}",
+               fixedDelayString = "${app.archive.interval-ms:3600000}")
+    public void archive() {
+        int archived = archiveBefore(LocalDateTime.now().minus(horizon));
+        if (archived > 0) {
+            log.info("Archived {} past event(s)", archived);
+        }
+    }
+
+    // Archives every event dated before the cutoff; returns how many were moved
+    public int archiveBefore(LocalDateTime cutoff) {
+        Timer.Sample run = Timer.start(meterRegistry);
+        int archived = 0;
+        try {
+            List<EventSummary> candidates;
+            while (!(candidates = eventRepository.findSummariesBefore(cutoff, Limit.of(scanSize))).isEmpty()) {
+                for (List<EventSummary> chunk : chunks(candidates)) {
+                    archived += move(chunk);
+                }
+            }
+        } finally {
+            run.stop(meterRegistry.timer("app.archive.duration"));
+        }
+        return archived;
+    }
+
+    // Groups the candidates into transactions of at most chunkRows registrations
+    private List<List<EventSummary>> chunks(List<EventSummary> candidates) {
+        Map<Long, Long> rows = new HashMap<>();
+        for (EventRegistrationCount count : registrationRepository.countByEventIds(
+                candidates.stream().map(EventSummary::id).toList())) {
+            rows.put(count.eventId(), count.registrations());
+        }
+        List<List<EventSummary>> chunks = new ArrayList<>();
+        List<EventSummary> chunk = new ArrayList<>();
+        long chunkSize = 0;
+        for (EventSummary event : candidates) {
+            long eventRows = rows.getOrDefault(event.id(), 0L);
+            if (!chunk.isEmpty() && chunkSize + eventRows > chunkRows) {
+                chunks.add(chunk);
+                chunk = new ArrayList<>();
+                chunkSize = 0;
+            }
+            chunk.add(event);
+            chunkSize += eventRows;
+        }
+        chunks.add(chunk);
+        return chunks;
+    }
+
+    private int move(List<EventSummary> chunk) {
+        List<Long> eventIds = chunk.stream().map(EventSummary::id).toList();
+        LocalDateTime archivedAt = LocalDateTime.now();
+        int[] moved = new int[2];
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            moved[1] = archivedRegistrationRepository.copyFromRegistrations(eventIds, archivedAt);
+            registrationRepository.deleteByEventIds(eventIds);
+            moved[0] = archivedEventRepository.copyFromEvents(eventIds, archivedAt);
+            eventRepository.deleteByIds(eventIds);
+        });
+        eventService.evictArchived(chunk);
+        meterRegistry.counter("app.archive.rows", "table", "events").increment(moved[0]);
+        meterRegistry.counter("app.archive.rows", "table", "event_registrations").increment(moved[1]);
+        return moved[0];
+    }
+}
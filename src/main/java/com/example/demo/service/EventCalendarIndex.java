@@ -0,0 +1,189 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.EventSummary;
+import com.example.demo.model.Event;
+import com.example.demo.repository.EventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory calendar of current and upcoming events: summaries in a skip list ordered by
+ * (eventDate, id), so a date range or the next N events costs one O(log n) seek plus the k
+ * entries returned. Only events dated at or after the watermark are kept; a scheduled job moves
+ * the watermark up to now minus app.calendar.retain-past and drops what falls behind it, and
+ * the part of a range before the watermark is read from the database instead. The index is
+ * loaded once at startup and kept current by EventService on create, update and delete.
+ */
+@Component
+public class EventCalendarIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(EventCalendarIndex.class);
+
+    private record Key(LocalDateTime eventDate, long id) implements Comparable<Key> {
+
+        // Sorts before every event at that instant
+        static Key at(LocalDateTime eventDate) {
+            return new Key(eventDate, Long.MIN_VALUE);
+        }
+
+        @Override
+        public int compareTo(Key other) {
+            int byDate = eventDate.compareTo(other.eventDate);
+            return byDate != 0 ? byDate : Long.compare(id, other.id);
+        }
+    }
+
+    private final ConcurrentSkipListMap<Key, EventSummary> calendar = new ConcurrentSkipListMap<>();
+    private final Map<Long, Key> keys = new ConcurrentHashMap<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    // Every event dated at or after the watermark is in the calendar once loaded is set
+    private volatile LocalDateTime watermark = LocalDateTime.MIN;
+    private volatile boolean loaded;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.calendar.retain-past:1d}")
+    private Duration retainPast;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        ageOut(LocalDateTime.now().minus(retainPast));
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readOnly.executeWithoutResult(status -> {
+            try (Stream<EventSummary> events = eventRepository.streamSummariesFrom(watermark)) {
+                events.forEach(this::put);
+            }
+        });
+        loaded = true;
+        log.info("Loaded {} events into the calendar index", keys.size());
+    }
+
+    public void index(Event event) {
+        put(new EventSummary(event.getId(), event.getTitle(), event.getEventDate(), event.getLocation(),
+                event.getCapacity(), event.getOrganizerId(), event.getOrganizerName()));
+    }
+
+    public void remove(Long eventId) {
+        writeLock.lock();
+        try {
+            Key key = keys.remove(eventId);
+            if (key != null) {
+                calendar.remove(key);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public int size() {
+        return keys.size();
+    }
+
+    @Scheduled(fixedDelayString = "${app.calendar.age-out-interval-ms:60000}")
+    public void ageOut() {
+        int dropped = ageOut(LocalDateTime.now().minus(retainPast));
+        if (dropped > 0) {
+            log.debug("Aged {} past events out of the calendar index", dropped);
+        }
+    }
+
+    // Raises the watermark to cutoff and drops the events dated before it; returns how many went
+    int ageOut(LocalDateTime cutoff) {
+        writeLock.lock();
+        try {
+            if (!cutoff.isAfter(watermark)) {
+                return 0;
+            }
+            watermark = cutoff;
+            NavigableMap<Key, EventSummary> past = calendar.headMap(Key.at(cutoff), false);
+            int dropped = past.size();
+            past.keySet().forEach(key -> keys.remove(key.id()));
+            past.clear();
+            return dropped;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // The first limit events dated at or after from, soonest first
+    public List<EventSummary> upcoming(LocalDateTime from, int limit) {
+        if (!loaded || from.isBefore(watermark)) {
+            return eventRepository.findSummariesAfterDate(from, Long.MIN_VALUE, Limit.of(limit));
+        }
+        return take(calendar.tailMap(Key.at(from), true), new ArrayList<>(limit), limit);
+    }
+
+    // The first limit events dated in [from, to), soonest first; the part before the watermark comes from the database
+    public List<EventSummary> between(LocalDateTime from, LocalDateTime to, int limit) {
+        if (!loaded) {
+            return eventRepository.findSummariesBetween(from, to, Limit.of(limit));
+        }
+        while (true) {
+            LocalDateTime start = watermark;
+            List<EventSummary> events = new ArrayList<>(limit);
+            if (from.isBefore(start)) {
+                events.addAll(eventRepository.findSummariesBetween(from, to.isBefore(start) ? to : start, Limit.of(limit)));
+            }
+            LocalDateTime indexFrom = from.isBefore(start) ? start : from;
+            if (indexFrom.isBefore(to)) {
+                take(calendar.subMap(Key.at(indexFrom), true, Key.at(to), false), events, limit);
+            }
+            // An age-out in between may have dropped part of what was read from the index
+            if (start.equals(watermark)) {
+                return events;
+            }
+        }
+    }
+
+    private void put(EventSummary summary) {
+        writeLock.lock();
+        try {
+            Key previous = keys.remove(summary.id());
+            if (previous != null) {
+                calendar.remove(previous);
+            }
+            if (!summary.eventDate().isBefore(watermark)) {
+                Key key = new Key(summary.eventDate(), summary.id());
+                calendar.put(key, summary);
+                keys.put(summary.id(), key);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private static List<EventSummary> take(NavigableMap<Key, EventSummary> range, List<EventSummary> into, int limit) {
+        for (EventSummary summary : range.values()) {
+            if (into.size() >= limit) {
+                break;
+            }
+            into.add(summary);
+        }
+        return into;
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.demo.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Change counters behind the ETags of the event read endpoints. Every committed event write
+ * (including registration counter updates, which bypass the entity's @Version) takes the next
+ * value of one global counter and records it against the event and its organizer, so a tag
+ * can be computed without reading the event. Counters live in memory: tags carry a per-boot
+ * epoch so they never match across restarts, and they only see writes made by this instance.
+ * Tags are weak because one tag covers the gzip and identity encodings of a response (Tomcat
+ * won't compress a response with a strong ETag); If-None-Match compares weakly anyway.
+ */
+@Component
+public class EventChangeTracker {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong generation = new AtomicLong();
+    private final Map<Long, Long> eventGenerations = new ConcurrentHashMap<>();
+    private final Map<Long, Long> organizerGenerations = new ConcurrentHashMap<>();
+
+    // Callers must take the tag before loading the data it describes: a write racing the load
+    // then leaves a tag that is already outdated, never a current tag on stale data.
+
+    public String allEventsTag() {
+        return tag(generation.get());
+    }
+
+    public String eventTag(Long eventId) {
+        return tag(eventGenerations.getOrDefault(eventId, 0L));
+    }
+
+    public String organizerTag(Long organizerId) {
+        return tag(organizerGenerations.getOrDefault(organizerId, 0L));
+    }
+
+    // Deferred to after commit when called inside a transaction
+    public void eventChanged(Long eventId, Long organizerId) {
+        afterCommit(() -> {
+            long changed = generation.incrementAndGet();
+            eventGenerations.merge(eventId, changed, Math::max);
+            if (organizerId != null) {
+                organizerGenerations.merge(organizerId, changed, Math::max);
+            }
+        });
+    }
+
+    private String tag(long version) {
+        return "W/\"" + epoch + "-" + version + "\"";
+    }
+
+    private void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+}
@@ -1,23 +1,50 @@
 package com.example.demo.service;
 
+import com.example.demo.dto.BatchRegistrationResult;
+import com.example.demo.dto.KeysetPage;
+import com.example.demo.dto.RegistrationStats;
+import com.example.demo.dto.RegistrationSummary;
 import com.example.demo.model.Event;
 import com.example.demo.model.EventRegistration;
 import com.example.demo.model.User;
 import com.example.demo.repository.EventRegistrationRepository;
 import com.example.demo.repository.EventRepository;
-import com.example.demo.repository.UserRepository;
+import com.example.demo.util.KeysetCursors;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Service
+@Timed(value = "app.service", histogram = true)
 @Transactional
 public class EventRegistrationService {
     
+    public static final int MAX_BATCH_SIZE = 500;
+    
     @Autowired
     private EventRegistrationRepository registrationRepository;
     
@@ -25,18 +52,33 @@ public class EventRegistrationService {
     private EventRepository eventRepository;
     
     @Autowired
-    private UserRepository userRepository;
+    private RequestEntityLoader entityLoader;
+    
+    @Autowired
+    private WaitlistService waitlistService;
+    
+    @Autowired
+    private OutboxService outboxService;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private EntityManager entityManager;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
     
     // Register user for an event
     public EventRegistration registerUserForEvent(Long eventId, Long userId) {
-        // Check if event exists
-        Optional<Event> eventOpt = eventRepository.findById(eventId);
+        // Check if event exists (cached; capacity is enforced by reserveSeat, not by this copy)
+        Optional<Event> eventOpt = entityLoader.findEvent(eventId);
         if (eventOpt.isEmpty()) {
             throw new RuntimeException("Event not found with ID: " + eventId);
         }
         
         // Check if user exists
-        Optional<User> userOpt = userRepository.findById(userId);
+        Optional<User> userOpt = entityLoader.findUser(userId);
         if (userOpt.isEmpty()) {
             throw new RuntimeException("User not found with ID: " + userId);
         }
@@ -49,32 +91,140 @@ public class EventRegistrationService {
             throw new RuntimeException("Cannot register for past events");
         }
         
+        // Check if user is trying to register for their own event
+        if (event.getOrganizerId().equals(userId)) {
+            throw new RuntimeException("Organizers cannot register for their own events");
+        }
+        
         // Check if user is already registered
         if (registrationRepository.existsByEventIdAndUserId(eventId, userId)) {
             throw new RuntimeException("User is already registered for this event");
         }
         
-        // Check if event has capacity
-        long currentRegistrations = registrationRepository.countByEventIdAndStatus(eventId, "CONFIRMED");
-        if (currentRegistrations >= event.getCapacity()) {
-            throw new RuntimeException("Event is at full capacity");
+        // Take a seat atomically; the row lock on the event serializes concurrent registrations
+        String status = "CONFIRMED";
+        if (eventRepository.reserveSeat(eventId) == 0) {
+            // Full: join the waitlist under the event row lock, unless a cancellation freed a seat meanwhile
+            eventRepository.findByIdForUpdate(eventId);
+            if (eventRepository.reserveSeat(eventId) == 0) {
+                status = "PENDING";
+            }
         }
         
-        // Check if user is trying to register for their own event
-        if (event.getOrganizerId().equals(userId)) {
-            throw new RuntimeException("Organizers cannot register for their own events");
+        // Create registration
+        EventRegistration registration = newRegistration(event, user);
+        registration.setStatus(status);
+        if ("PENDING".equals(status)) {
+            registration.setWaitlistPosition(waitlistService.lastPosition(eventId) + 1);
         }
         
-        // Create registration
+        try {
+            // Pooled sequence ids defer the insert to commit; flush so a lost race surfaces here
+            EventRegistration saved = registrationRepository.saveAndFlush(registration);
+            outboxService.recordRegistration("PENDING".equals(status)
+                    ? OutboxService.REGISTRATION_WAITLISTED
+                    : OutboxService.REGISTRATION_CONFIRMED, saved);
+            eventPublisher.publishEvent(new RegistrationChangedEvent(eventId, event.getOrganizerId()));
+            return saved;
+        } catch (DataIntegrityViolationException e) {
+            // Lost a race with a parallel request for the same user; the seat is rolled back with it
+            throw new RuntimeException("User is already registered for this event");
+        }
+    }
+    
+    // Register many users for one event in a single transaction with batched inserts
+    public List<BatchRegistrationResult> registerUsersForEvent(Long eventId, List<Long> userIds) {
+        Set<Long> requested = new LinkedHashSet<>(userIds);
+        if (requested.size() > MAX_BATCH_SIZE) {
+            throw new RuntimeException("A batch can register at most " + MAX_BATCH_SIZE + " users");
+        }
+        
+        Optional<Event> eventOpt = entityLoader.findEvent(eventId);
+        if (eventOpt.isEmpty()) {
+            throw new RuntimeException("Event not found with ID: " + eventId);
+        }
+        Event event = eventOpt.get();
+        if (event.getEventDate().isBefore(LocalDateTime.now())) {
+            throw new RuntimeException("Cannot register for past events");
+        }
+        
+        Map<Long, User> users = entityLoader.findUsers(requested);
+        Set<Long> alreadyRegistered = requested.isEmpty()
+                ? Set.of()
+                : new HashSet<>(registrationRepository.findRegisteredUserIds(eventId, requested));
+        
+        Map<Long, BatchRegistrationResult> results = new LinkedHashMap<>();
+        List<User> candidates = new ArrayList<>();
+        for (Long userId : requested) {
+            if (!users.containsKey(userId)) {
+                results.put(userId, new BatchRegistrationResult(userId, BatchRegistrationResult.USER_NOT_FOUND, null));
+            } else if (event.getOrganizerId().equals(userId)) {
+                results.put(userId, new BatchRegistrationResult(userId, BatchRegistrationResult.ORGANIZER, null));
+            } else if (alreadyRegistered.contains(userId)) {
+                results.put(userId, new BatchRegistrationResult(userId, BatchRegistrationResult.ALREADY_REGISTERED, null));
+            } else {
+                results.put(userId, null);
+                candidates.add(users.get(userId));
+            }
+        }
+        
+        // Lock the event row once and take as many seats as the batch can get
+        int admitted = 0;
+        if (!candidates.isEmpty()) {
+            Event locked = eventRepository.findByIdForUpdate(eventId)
+                    .orElseThrow(() -> new RuntimeException("Event not found with ID: " + eventId));
+            admitted = Math.min(candidates.size(), Math.max(0, locked.getCapacity() - locked.getConfirmedCount()));
+            if (admitted > 0) {
+                eventRepository.reserveSeats(eventId, admitted);
+            }
+        }
+        
+        List<EventRegistration> registrations = new ArrayList<>(candidates.size());
+        for (User user : candidates.subList(0, admitted)) {
+            registrations.add(newRegistration(event, user));
+        }
+        // Everyone past the free seats joins the waitlist, in request order, while the row lock is still held
+        List<User> waitlisted = candidates.subList(admitted, candidates.size());
+        long position = waitlisted.isEmpty() ? 0 : waitlistService.lastPosition(eventId);
+        for (User user : waitlisted) {
+            EventRegistration registration = newRegistration(event, user);
+            registration.setStatus("PENDING");
+            registration.setWaitlistPosition(++position);
+            registrations.add(registration);
+        }
+        
+        if (!registrations.isEmpty()) {
+            try {
+                registrationRepository.saveAllAndFlush(registrations);
+            } catch (DataIntegrityViolationException e) {
+                // Another request registered one of these users meanwhile; nothing from this batch is kept
+                throw new RuntimeException("Some users were registered concurrently, please retry the batch");
+            }
+            outboxService.recordRegistrations(OutboxService.REGISTRATION_CONFIRMED, registrations.subList(0, admitted));
+            outboxService.recordRegistrations(OutboxService.REGISTRATION_WAITLISTED,
+                    registrations.subList(admitted, registrations.size()));
+            for (EventRegistration registration : registrations) {
+                String outcome = "PENDING".equals(registration.getStatus())
+                        ? BatchRegistrationResult.WAITLISTED
+                        : BatchRegistrationResult.REGISTERED;
+                results.put(registration.getUserId(), new BatchRegistrationResult(
+                        registration.getUserId(), outcome, registration.getId()));
+            }
+            eventPublisher.publishEvent(new RegistrationChangedEvent(eventId, event.getOrganizerId()));
+        }
+        
+        return new ArrayList<>(results.values());
+    }
+    
+    private EventRegistration newRegistration(Event event, User user) {
         EventRegistration registration = new EventRegistration();
-        registration.setEventId(eventId);
-        registration.setUserId(userId);
+        registration.setEventId(event.getId());
+        registration.setUserId(user.getId());
         registration.setStatus("CONFIRMED");
         registration.setUserName(user.getFirstName() + " " + user.getLastName());
         registration.setUserEmail(user.getEmail());
         registration.setEventTitle(event.getTitle());
-        
-        return registrationRepository.save(registration);
+        return registration;
     }
     
     // Cancel registration
@@ -89,13 +239,28 @@ public class EventRegistrationService {
         EventRegistration registration = registrationOpt.get();
         
         // Check if event is in the future
-        Optional<Event> eventOpt = eventRepository.findById(eventId);
+        Optional<Event> eventOpt = entityLoader.findEvent(eventId);
         if (eventOpt.isPresent() && eventOpt.get().getEventDate().isBefore(LocalDateTime.now())) {
             throw new RuntimeException("Cannot cancel registration for past events");
         }
         
+        if ("CANCELLED".equals(registration.getStatus())) {
+            return;
+        }
+        
+        if ("CONFIRMED".equals(registration.getStatus())) {
+            // Releasing the seat locks the event row; the head of the waitlist takes it in this transaction
+            eventRepository.releaseSeat(eventId);
+            waitlistService.promote(eventId, 1);
+        } else {
+            eventRepository.recordCancellation(eventId);
+        }
+        
         registration.setStatus("CANCELLED");
         registrationRepository.save(registration);
+        outboxService.recordRegistration(OutboxService.REGISTRATION_CANCELLED, registration);
+        eventOpt.ifPresent(event ->
+                eventPublisher.publishEvent(new RegistrationChangedEvent(eventId, event.getOrganizerId())));
     }
     
     // Get all registrations for an event
@@ -103,6 +268,15 @@ public class EventRegistrationService {
         return registrationRepository.findByEventId(eventId);
     }
     
+    // Keyset page of an event's registrations
+    @Transactional(readOnly = true)
+    public KeysetPage<RegistrationSummary> getEventRegistrationPage(Long eventId, String cursor, Integer size) {
+        int pageSize = KeysetCursors.pageSize(size);
+        List<RegistrationSummary> rows = registrationRepository.findSummariesByEventIdAfterId(
+                eventId, KeysetCursors.decodeId(cursor), Limit.of(pageSize + 1));
+        return KeysetPage.of(rows, pageSize, r -> KeysetCursors.encodeId(r.id()));
+    }
+    
     // Get all registrations by a user
     public List<EventRegistration> getUserRegistrations(Long userId) {
         return registrationRepository.findByUserId(userId);
@@ -115,23 +289,86 @@ public class EventRegistrationService {
     
     // Get registration count for event
     public long getRegistrationCount(Long eventId) {
-        return registrationRepository.countByEventIdAndStatus(eventId, "CONFIRMED");
+        return getRegistrationStats(eventId).confirmed();
     }
     
     // Get remaining capacity for event
     public int getRemainingCapacity(Long eventId) {
-        Optional<Event> eventOpt = eventRepository.findById(eventId);
-        if (eventOpt.isEmpty()) {
-            return 0;
-        }
-        
-        Event event = eventOpt.get();
-        long registrations = registrationRepository.countByEventIdAndStatus(eventId, "CONFIRMED");
-        return Math.max(0, event.getCapacity() - (int) registrations);
+        return getRegistrationStats(eventId).remainingCapacity();
+    }
+    
+    // Confirmed/cancelled/remaining in a single primary-key lookup
+    @Transactional(readOnly = true)
+    public RegistrationStats getRegistrationStats(Long eventId) {
+        return eventRepository.findById(eventId)
+                .map(event -> new RegistrationStats(
+                        event.getConfirmedCount(),
+                        event.getCancelledCount(),
+                        Math.max(0, event.getCapacity() - event.getConfirmedCount())))
+                .orElse(RegistrationStats.EMPTY);
     }
     
     // Get registrations for events organized by a user (for admin dashboard)
     public List<EventRegistration> getRegistrationsForOrganizerEvents(Long organizerId) {
         return registrationRepository.findRegistrationsForOrganizerEvents(organizerId);
     }
+    
+    // Stream the same registrations to out as "csv" or "ndjson" without holding them in memory
+    @Transactional(readOnly = true)
+    public long exportRegistrationsForOrganizerEvents(Long organizerId, String format, OutputStream out) throws IOException {
+        boolean csv = "csv".equalsIgnoreCase(format);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        if (csv) {
+            writer.write("id,eventId,eventTitle,userId,userName,userEmail,status,registrationDate\n");
+        }
+        
+        long rows = 0;
+        try (Stream<EventRegistration> registrations =
+                     registrationRepository.streamRegistrationsForOrganizerEvents(organizerId)) {
+            Iterator<EventRegistration> it = registrations.iterator();
+            while (it.hasNext()) {
+                EventRegistration registration = it.next();
+                if (csv) {
+                    writeCsvRow(writer, registration);
+                } else {
+                    writer.write(objectMapper.writeValueAsString(registration));
+                    writer.write('\n');
+                }
+                // Keep the persistence context empty so memory stays flat
+                entityManager.detach(registration);
+                rows++;
+            }
+        }
+        writer.flush();
+        return rows;
+    }
+    
+    private void writeCsvRow(Writer writer, EventRegistration registration) throws IOException {
+        writer.write(String.valueOf(registration.getId()));
+        writer.write(',');
+        writer.write(String.valueOf(registration.getEventId()));
+        writer.write(',');
+        writer.write(csvField(registration.getEventTitle()));
+        writer.write(',');
+        writer.write(String.valueOf(registration.getUserId()));
+        writer.write(',');
+        writer.write(csvField(registration.getUserName()));
+        writer.write(',');
+        writer.write(csvField(registration.getUserEmail()));
+        writer.write(',');
+        writer.write(registration.getStatus());
+        writer.write(',');
+        writer.write(String.valueOf(registration.getRegistrationDate()));
+        writer.write('\n');
+    }
+    
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
 }
\ No newline at end of file
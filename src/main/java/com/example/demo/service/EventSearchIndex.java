@@ -0,0 +1,288 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.EventSearchResult;
+import com.example.demo.dto.EventSummary;
+import com.example.demo.model.Event;
+import com.example.demo.repository.EventRepository;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * In-memory inverted index over event title, location and description.
+ *
+ * Title and location words are indexed by every prefix of 2..12 characters, so
+ * "conf" finds "Conference"; description words are indexed whole. Query words of
+ * one character are ignored, and longer than 12 are matched by their first 12.
+ * Each posting records which fields matched as a bitmask, which drives ranking.
+ *
+ * The legacy title and location searches keep their case-insensitive substring
+ * contract ("ference" and "j" both find "Java Conference") by scanning the
+ * lower-cased fields kept next to each document, without touching the database.
+ *
+ * The index is built once at startup and kept current by EventService on create,
+ * update and delete.
+ */
+@Component
+public class EventSearchIndex {
+    
+    private static final Logger log = LoggerFactory.getLogger(EventSearchIndex.class);
+    
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int MIN_PREFIX = 2;
+    private static final int MAX_PREFIX = 12;
+    
+    public enum Field {
+        TITLE(3), LOCATION(2), DESCRIPTION(1);
+        
+        private final int weight;
+        
+        Field(int weight) {
+            this.weight = weight;
+        }
+        
+        int prefixBit() {
+            return 1 << ordinal();
+        }
+        
+        int wordBit() {
+            return 1 << (ordinal() + 3);
+        }
+    }
+    
+    // term -> (eventId -> bitmask of prefix/whole-word hits per field)
+    private final Map<String, Map<Long, Integer>> postings = new ConcurrentHashMap<>();
+    private final Map<Long, IndexedEvent> documents = new ConcurrentHashMap<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    
+    @Autowired
+    private EventRepository eventRepository;
+    
+    @Autowired
+    private EntityManager entityManager;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    private record IndexedEvent(EventSummary summary, Map<String, Integer> terms, String title, String location) {
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readOnly.executeWithoutResult(status -> {
+            try (Stream<Event> events = eventRepository.streamAll()) {
+                events.forEach(event -> {
+                    index(event);
+                    entityManager.detach(event);
+                });
+            }
+        });
+        log.info("Indexed {} events for search", documents.size());
+    }
+    
+    public void index(Event event) {
+        Map<String, Integer> terms = new HashMap<>();
+        addTerms(terms, event.getTitle(), Field.TITLE, true);
+        addTerms(terms, event.getLocation(), Field.LOCATION, true);
+        addTerms(terms, event.getDescription(), Field.DESCRIPTION, false);
+        EventSummary summary = new EventSummary(event.getId(), event.getTitle(), event.getEventDate(),
+                event.getLocation(), event.getCapacity(), event.getOrganizerId(), event.getOrganizerName());
+        
+        writeLock.lock();
+        try {
+            removeLocked(event.getId());
+            terms.forEach((term, mask) ->
+                    postings.computeIfAbsent(term, t -> new ConcurrentHashMap<>()).put(event.getId(), mask));
+            documents.put(event.getId(), new IndexedEvent(summary, terms, lowerCase(event.getTitle()),
+                    lowerCase(event.getLocation())));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    public void remove(Long eventId) {
+        writeLock.lock();
+        try {
+            removeLocked(eventId);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    public int size() {
+        return documents.size();
+    }
+    
+    // Ranked page of events matching every query word in any field
+    public EventSearchResult search(String query, int page, int size) {
+        Map<Long, Integer> scores = score(query);
+        // A long, so a huge page number lands past the end instead of wrapping negative
+        long offset = (long) page * size;
+        List<EventSummary> items = new ArrayList<>();
+        if (offset >= scores.size()) {
+            return new EventSearchResult(items, scores.size(), page, size);
+        }
+        int from = (int) offset;
+        List<Long> ids = topIds(scores, (int) Math.min(offset + size, scores.size()));
+        for (int i = from; i < ids.size(); i++) {
+            IndexedEvent doc = documents.get(ids.get(i));
+            if (doc != null) {
+                items.add(doc.summary());
+            }
+        }
+        return new EventSearchResult(items, scores.size(), page, size);
+    }
+    
+    // Ids of events whose title or location contains the text, ignoring case, in id order
+    public List<Long> containingIds(String text, Field field) {
+        if (field == Field.DESCRIPTION) {
+            throw new IllegalArgumentException("Substring search covers title and location only");
+        }
+        String needle = lowerCase(text);
+        List<Long> ids = new ArrayList<>();
+        documents.forEach((id, doc) -> {
+            String value = field == Field.TITLE ? doc.title() : doc.location();
+            if (value.contains(needle)) {
+                ids.add(id);
+            }
+        });
+        Collections.sort(ids);
+        return ids;
+    }
+    
+    private Map<Long, Integer> score(String query) {
+        List<String> words = tokenize(query);
+        if (words.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        
+        List<Map<Long, Integer>> lists = new ArrayList<>(words.size());
+        for (String word : words) {
+            Map<Long, Integer> list = postings.get(word.length() > MAX_PREFIX ? word.substring(0, MAX_PREFIX) : word);
+            if (list == null) {
+                return Collections.emptyMap();
+            }
+            lists.add(list);
+        }
+        // Drive the intersection from the rarest word
+        lists.sort(Comparator.comparingInt(Map::size));
+        
+        Map<Long, Integer> scores = new HashMap<>();
+        for (Map.Entry<Long, Integer> candidate : lists.get(0).entrySet()) {
+            Long id = candidate.getKey();
+            int total = 0;
+            for (Map<Long, Integer> list : lists) {
+                Integer mask = list.get(id);
+                int wordScore = mask == null ? 0 : weigh(mask);
+                if (wordScore == 0) {
+                    total = 0;
+                    break;
+                }
+                total += wordScore;
+            }
+            if (total > 0) {
+                scores.put(id, total);
+            }
+        }
+        return scores;
+    }
+    
+    private static int weigh(int mask) {
+        int score = 0;
+        for (Field field : Field.values()) {
+            if ((mask & field.prefixBit()) != 0) {
+                score += field.weight;
+            }
+            if ((mask & field.wordBit()) != 0) {
+                score += field.weight;
+            }
+        }
+        return score;
+    }
+    
+    // Highest score first, ties broken by id; only the first limit ids are ordered
+    private static List<Long> topIds(Map<Long, Integer> scores, int limit) {
+        Comparator<Map.Entry<Long, Integer>> best = Map.Entry.<Long, Integer>comparingByValue().reversed()
+                .thenComparing(Map.Entry.comparingByKey());
+        PriorityQueue<Map.Entry<Long, Integer>> heap = new PriorityQueue<>(best.reversed());
+        for (Map.Entry<Long, Integer> entry : scores.entrySet()) {
+            heap.offer(entry);
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        }
+        List<Map.Entry<Long, Integer>> top = new ArrayList<>(heap);
+        top.sort(best);
+        List<Long> ids = new ArrayList<>(top.size());
+        top.forEach(entry -> ids.add(entry.getKey()));
+        return ids;
+    }
+    
+    private void removeLocked(Long eventId) {
+        IndexedEvent previous = documents.remove(eventId);
+        if (previous == null) {
+            return;
+        }
+        for (String term : previous.terms().keySet()) {
+            Map<Long, Integer> list = postings.get(term);
+            if (list != null) {
+                list.remove(eventId);
+                if (list.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+    
+    private static void addTerms(Map<String, Integer> terms, String text, Field field, boolean prefixes) {
+        for (String word : tokenize(text)) {
+            if (prefixes) {
+                for (int length = MIN_PREFIX; length <= Math.min(word.length(), MAX_PREFIX); length++) {
+                    terms.merge(word.substring(0, length), field.prefixBit(), (a, b) -> a | b);
+                }
+            }
+            String whole = word.length() > MAX_PREFIX ? word.substring(0, MAX_PREFIX) : word;
+            terms.merge(whole, field.wordBit() | (prefixes ? field.prefixBit() : 0), (a, b) -> a | b);
+        }
+    }
+    
+    private static String lowerCase(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+    
+    private static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return Collections.emptyList();
+        }
+        Set<String> words = new HashSet<>();
+        for (String word : NON_WORD.split(text.toLowerCase(Locale.ROOT))) {
+            if (word.length() >= MIN_PREFIX) {
+                words.add(word);
+            }
+        }
+        return new ArrayList<>(words);
+    }
+}
@@ -1,39 +1,110 @@
 package com.example.demo.service;
 
+import com.example.demo.dto.EventSearchResult;
+import com.example.demo.dto.EventSummary;
+import com.example.demo.dto.KeysetPage;
+import com.example.demo.dto.UserPrincipal;
+import com.example.demo.exception.ConflictException;
 import com.example.demo.model.Event;
-import com.example.demo.model.User;
 import com.example.demo.repository.EventRepository;
 import com.example.demo.repository.EventRegistrationRepository;
-import com.example.demo.repository.UserRepository;
+import com.example.demo.util.CacheLoads;
+import com.example.demo.util.KeysetCursors;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 @Service
+@Timed(value = "app.service", histogram = true)
 public class EventService {
     
     @Autowired
     private EventRepository eventRepository;
     
     @Autowired
-    private UserRepository userRepository;
+    private UserService userService;
     
     @Autowired
     private EventRegistrationRepository registrationRepository;
+    
+    @Autowired
+    private EventSearchIndex searchIndex;
+    
+    @Autowired
+    private EventCalendarIndex calendarIndex;
+    
+    @Autowired
+    private WaitlistService waitlistService;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private EventChangeTracker changeTracker;
+    
+    @Value("${app.cache.events.max-size:10000}")
+    private long cacheMaxSize;
+    
+    @Value("${app.cache.events.ttl:10m}")
+    private Duration cacheTtl;
+    
+    // Read-through caches; writes below invalidate exactly the entries they touch
+    private AsyncCache<Long, Event> eventCache;
+    private AsyncCache<Long, List<Event>> organizerEventsCache;
+    
+    @PostConstruct
+    void initCaches() {
+        eventCache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(cacheTtl)
+                .recordStats()
+                .buildAsync();
+        organizerEventsCache = Caffeine.newBuilder()
+                .maximumSize(Math.max(1, cacheMaxSize / 10))
+                .expireAfterWrite(cacheTtl)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, eventCache, "events");
+        CaffeineCacheMetrics.monitor(meterRegistry, organizerEventsCache, "organizerEvents");
+    }
 
     public Event createEvent(Event event) {
-        // organizer exists?
-        Optional<User> organizer = userRepository.findById(event.getOrganizerId());
-        if (organizer.isEmpty()) {
-            throw new RuntimeException("Organizer not found with ID: " + event.getOrganizerId());
-        }
+        // organizer exists? (cached, so the controller's admin check already paid for the read)
+        UserPrincipal organizer = userService.getPrincipal(event.getOrganizerId())
+                .orElseThrow(() -> new RuntimeException("Organizer not found with ID: " + event.getOrganizerId()));
         
         // organizer name 
-        User user = organizer.get();
-        event.setOrganizerName(user.getFirstName() + " " + user.getLastName());
+        event.setOrganizerName(organizer.displayName());
+        event.setVersion(null);
         
-        return eventRepository.save(event);
+        Event saved = eventRepository.save(event);
+        searchIndex.index(saved);
+        calendarIndex.index(saved);
+        organizerEventsCache.synchronous().invalidate(saved.getOrganizerId());
+        changeTracker.eventChanged(saved.getId(), saved.getOrganizerId());
+        return saved;
     }
     
     //all
@@ -41,17 +112,59 @@ public class EventService {
         return eventRepository.findAll();
     }
     
-    // ID
+    // Keyset page of summaries, ordered by id or by (eventDate, id)
+    public KeysetPage<EventSummary> getEventPage(String cursor, Integer size, boolean orderByDate) {
+        int pageSize = KeysetCursors.pageSize(size);
+        if (orderByDate) {
+            List<EventSummary> rows = eventRepository.findSummariesAfterDate(
+                    KeysetCursors.decodeDate(cursor), KeysetCursors.decodeDateId(cursor), Limit.of(pageSize + 1));
+            return KeysetPage.of(rows, pageSize, e -> KeysetCursors.encodeDate(e.eventDate(), e.id()));
+        }
+        List<EventSummary> rows = eventRepository.findSummariesAfterId(
+                KeysetCursors.decodeId(cursor), Limit.of(pageSize + 1));
+        return KeysetPage.of(rows, pageSize, e -> KeysetCursors.encodeId(e.id()));
+    }
+    
+    // Next events from now on, soonest first (calendar index, no query)
+    public List<EventSummary> getUpcomingEvents(Integer size) {
+        return calendarIndex.upcoming(LocalDateTime.now(), KeysetCursors.pageSize(size));
+    }
+    
+    // Events dated in [from, to), soonest first; only the part older than the calendar index's window is queried
+    public List<EventSummary> getEventsBetween(LocalDateTime from, LocalDateTime to, Integer size) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("The range start must be before its end");
+        }
+        return calendarIndex.between(from, to, KeysetCursors.pageSize(size));
+    }
+    
+    // ID (cached; registration counters on the returned event may lag until the next write)
     public Optional<Event> getEventById(Long id) {
-        return eventRepository.findById(id);
+        return Optional.ofNullable(CacheLoads.getOrLoad(eventCache, id, key -> eventRepository.findById(key).orElse(null)));
     }
     
-    //organizer
+    //organizer (cached)
     public List<Event> getEventsByOrganizer(Long organizerId) {
-        return eventRepository.findByOrganizerId(organizerId);
+        return CacheLoads.getOrLoad(organizerEventsCache, organizerId, key -> List.copyOf(eventRepository.findByOrganizerId(key)));
+    }
+    
+    // Hit/miss/eviction counters of the event cache, also published as cache.* metrics
+    public CacheStats getEventCacheStats() {
+        return eventCache.synchronous().stats();
+    }
+    
+    // Registration counters are part of the cached entity and its ETag, so drop both once the change is committed
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onRegistrationChanged(RegistrationChangedEvent change) {
+        eventCache.synchronous().invalidate(change.eventId());
+        organizerEventsCache.synchronous().invalidate(change.organizerId());
+        changeTracker.eventChanged(change.eventId(), change.organizerId());
     }
     
     // Update
+    // A version in the request body is the one the client edited; a different current version means
+    // someone else saved in between. Conflicts detected at flush are left to the caller to retry.
+    @Transactional
     public Event updateEvent(Long id, Event eventDetails) {
         Optional<Event> existingEvent = eventRepository.findById(id);
         if (existingEvent.isEmpty()) {
@@ -59,30 +172,85 @@ public class EventService {
         }
         
         Event event = existingEvent.get();
+        if (eventDetails.getVersion() != null && !eventDetails.getVersion().equals(event.getVersion())) {
+            throw new ConflictException("Event was modified by someone else, reload it and try again");
+        }
         event.setTitle(eventDetails.getTitle());
         event.setDescription(eventDetails.getDescription());
         event.setEventDate(eventDetails.getEventDate());
         event.setLocation(eventDetails.getLocation());
         event.setCapacity(eventDetails.getCapacity());
         
-        return eventRepository.save(event);
+        Event saved = eventRepository.saveAndFlush(event);
+        // The flushed UPDATE holds the row lock, so no seat can be taken between this read and commit
+        int confirmed = eventRepository.findConfirmedCount(id);
+        if (saved.getCapacity() < confirmed) {
+            throw new IllegalArgumentException("Capacity cannot be lower than the " + confirmed + " confirmed registrations");
+        }
+        // Seats added by a capacity increase go to the waitlist first
+        waitlistService.promote(id, saved.getCapacity() - confirmed);
+        searchIndex.index(saved);
+        calendarIndex.index(saved);
+        eventCache.synchronous().invalidate(id);
+        organizerEventsCache.synchronous().invalidate(saved.getOrganizerId());
+        eventPublisher.publishEvent(new RegistrationChangedEvent(id, saved.getOrganizerId()));
+        return saved;
     }
     
     // Delete 
     public void deleteEvent(Long id) {
-        if (!eventRepository.existsById(id)) {
+        Optional<Event> existingEvent = eventRepository.findById(id);
+        if (existingEvent.isEmpty()) {
             throw new RuntimeException("Event not found with ID: " + id);
         }
         eventRepository.deleteById(id);
+        searchIndex.remove(id);
+        calendarIndex.remove(id);
+        eventCache.synchronous().invalidate(id);
+        organizerEventsCache.synchronous().invalidate(existingEvent.get().getOrganizerId());
+        changeTracker.eventChanged(id, existingEvent.get().getOrganizerId());
+    }
+    
+    // Forgets events EventArchiver has moved out of the hot tables; called after the move commits
+    public void evictArchived(List<EventSummary> archived) {
+        for (EventSummary event : archived) {
+            searchIndex.remove(event.id());
+            calendarIndex.remove(event.id());
+            eventCache.synchronous().invalidate(event.id());
+            organizerEventsCache.synchronous().invalidate(event.organizerId());
+            changeTracker.eventChanged(event.id(), event.organizerId());
+        }
+    }
+    
+    // Ranked search over title, location and description
+    public EventSearchResult searchEvents(String query, int page, Integer size) {
+        return searchIndex.search(query, Math.max(0, page), KeysetCursors.pageSize(size));
     }
     
-    // S title
+    // S title (case-insensitive substring, as before the index)
     public List<Event> searchEventsByTitle(String title) {
-        return eventRepository.findByTitleContainingIgnoreCase(title);
+        return loadInOrder(searchIndex.containingIds(title, EventSearchIndex.Field.TITLE));
     }
     
-    // S  location
+    // S  location (case-insensitive substring, as before the index)
     public List<Event> searchEventsByLocation(String location) {
-        return eventRepository.findByLocationContainingIgnoreCase(location);
+        return loadInOrder(searchIndex.containingIds(location, EventSearchIndex.Field.LOCATION));
+    }
+    
+    // Primary-key lookup of index hits, keeping the index's order
+    private List<Event> loadInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Event> byId = new HashMap<>();
+        eventRepository.findAllById(ids).forEach(event -> byId.put(event.getId(), event));
+        List<Event> events = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Event event = byId.get(id);
+            if (event != null) {
+                events.add(event);
+            }
+        }
+        return events;
     }
 }
@@ -0,0 +1,29 @@
+package com.example.demo.service;
+
+import com.example.demo.model.OutboxMessage;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+// Local stand-in for email, organizer notifications and analytics: logs each message by its ids only,
+// never the names and email addresses in the payload
+@Component
+@ConditionalOnProperty(name = "app.outbox.log-handler.enabled", havingValue = "true", matchIfMissing = true)
+public class LoggingOutboxHandler implements OutboxHandler {
+    
+    private static final Logger log = LoggerFactory.getLogger(LoggingOutboxHandler.class);
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Override
+    public void handle(OutboxMessage message) throws Exception {
+        JsonNode payload = objectMapper.readTree(message.getPayload());
+        log.info("outbox {} #{} for {}: event {} user {} {}", message.getType(), message.getId(), message.getAggregateId(),
+                payload.path("eventId").asText(), payload.path("userId").asText(), payload.path("status").asText());
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.demo.service;
+
+import com.example.demo.model.OutboxMessage;
+import com.example.demo.repository.OutboxMessageRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the outbox in batches and hands each message to every {@link OutboxHandler}.
+ *
+ * Handlers run outside any transaction. A message is deleted only after all of them succeeded
+ * (at-least-once). A failure reschedules it with exponential backoff plus jitter, and after
+ * app.outbox.max-attempts it is parked as FAILED for inspection. Assumes a single dispatching
+ * instance; running several would need row claiming (SELECT ... FOR UPDATE SKIP LOCKED).
+ *
+ * Metrics: app.outbox.pending and app.outbox.lag.seconds (gauges, refreshed on every run), plus
+ * the counters app.outbox.delivered, app.outbox.retries and app.outbox.failed.
+ */
+@Component
+public class OutboxDispatcher {
+    
+    private static final Logger log = LoggerFactory.getLogger(OutboxDispatcher.class);
+    
+    @Autowired
+    private OutboxMessageRepository outboxRepository;
+    
+    @Autowired
+    private List<OutboxHandler> handlers;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${app.outbox.batch-size:100}")
+    private int batchSize;
+    
+    @Value("${app.outbox.max-attempts:10}")
+    private int maxAttempts;
+    
+    @Value("${app.outbox.base-backoff:1s}")
+    private Duration baseBackoff;
+    
+    @Value("${app.outbox.max-backoff:10m}")
+    private Duration maxBackoff;
+    
+    private TransactionTemplate transactions;
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong lagSeconds = new AtomicLong();
+    
+    @PostConstruct
+    void init() {
+        transactions = new TransactionTemplate(transactionManager);
+        meterRegistry.gauge("app.outbox.pending", pending);
+        meterRegistry.gauge("app.outbox.lag.seconds", lagSeconds);
+    }
+    
+    @Scheduled(initialDelayString = "${app.outbox.poll-interval-ms:1000}",
+               fixedDelayString = "${app.outbox.poll-interval-ms:1000}")
+    public void dispatch() {
+        // Keep draining while batches come back full
+        int picked;
+        do {
+            picked = dispatchBatch();
+        } while (picked == batchSize);
+        refreshGauges();
+    }
+    
+    // Delivers one batch and returns how many messages it picked up
+    int dispatchBatch() {
+        List<OutboxMessage> batch = transactions.execute(status -> outboxRepository
+                .findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(
+                        OutboxMessage.PENDING, LocalDateTime.now(), Limit.of(batchSize)));
+        if (batch == null || batch.isEmpty()) {
+            return 0;
+        }
+        
+        List<Long> delivered = new ArrayList<>();
+        List<OutboxMessage> failed = new ArrayList<>();
+        for (OutboxMessage message : batch) {
+            try {
+                for (OutboxHandler handler : handlers) {
+                    handler.handle(message);
+                }
+                delivered.add(message.getId());
+            } catch (Exception e) {
+                reschedule(message, e);
+                failed.add(message);
+            }
+        }
+        
+        transactions.executeWithoutResult(status -> {
+            outboxRepository.deleteAllByIdInBatch(delivered);
+            outboxRepository.saveAll(failed);
+        });
+        meterRegistry.counter("app.outbox.delivered").increment(delivered.size());
+        return batch.size();
+    }
+    
+    private void reschedule(OutboxMessage message, Exception error) {
+        int attempts = message.getAttempts() + 1;
+        message.setAttempts(attempts);
+        String reason = error.getClass().getSimpleName() + ": " + error.getMessage();
+        message.setLastError(reason.length() > 1000 ? reason.substring(0, 1000) : reason);
+        if (attempts >= maxAttempts) {
+            message.setStatus(OutboxMessage.FAILED);
+            meterRegistry.counter("app.outbox.failed").increment();
+            log.error("Outbox message {} ({}) failed {} times, giving up: {}",
+                    message.getId(), message.getType(), attempts, reason);
+            return;
+        }
+        // Exponential backoff capped at max-backoff, with up to 50% jitter so failures don't retry in lockstep
+        long backoffMs = Math.min(maxBackoff.toMillis(), baseBackoff.toMillis() << Math.min(attempts - 1, 20));
+        backoffMs += ThreadLocalRandom.current().nextLong(backoffMs / 2 + 1);
+        message.setNextAttemptAt(LocalDateTime.now().plus(Duration.ofMillis(backoffMs)));
+        meterRegistry.counter("app.outbox.retries").increment();
+        log.warn("Outbox message {} ({}) failed, retrying in {} ms: {}", message.getId(), message.getType(), backoffMs, reason);
+    }
+    
+    private void refreshGauges() {
+        transactions.executeWithoutResult(status -> {
+            pending.set(outboxRepository.countByStatus(OutboxMessage.PENDING));
+            lagSeconds.set(outboxRepository.findFirstByStatusOrderByNextAttemptAtAsc(OutboxMessage.PENDING)
+                    .map(oldest -> Math.max(0, Duration.between(oldest.getNextAttemptAt(), LocalDateTime.now()).toSeconds()))
+                    .orElse(0L));
+        });
+    }
+}
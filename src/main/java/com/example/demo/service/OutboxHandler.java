@@ -0,0 +1,15 @@
+package com.example.demo.service;
+
+import com.example.demo.model.OutboxMessage;
+
+/**
+ * Receives every outbox message the dispatcher delivers; implementations pick the types they care about.
+ *
+ * Delivery is at-least-once: a message is redelivered to all handlers if any of them throws, and after
+ * a crash between handling and acknowledging it. Handlers must therefore be idempotent, e.g. by keying
+ * on the message id.
+ */
+public interface OutboxHandler {
+    
+    void handle(OutboxMessage message) throws Exception;
+}
@@ -0,0 +1,66 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.RegistrationNotification;
+import com.example.demo.model.EventRegistration;
+import com.example.demo.model.OutboxMessage;
+import com.example.demo.repository.OutboxMessageRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Writes outbox messages. MANDATORY propagation makes the message part of the caller's
+ * transaction, so it is stored exactly when the registration change itself commits.
+ */
+@Service
+@Transactional(propagation = Propagation.MANDATORY)
+public class OutboxService {
+    
+    public static final String REGISTRATION_CONFIRMED = "REGISTRATION_CONFIRMED";
+    public static final String REGISTRATION_WAITLISTED = "REGISTRATION_WAITLISTED";
+    public static final String REGISTRATION_PROMOTED = "REGISTRATION_PROMOTED";
+    public static final String REGISTRATION_CANCELLED = "REGISTRATION_CANCELLED";
+    
+    @Autowired
+    private OutboxMessageRepository outboxRepository;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    public void recordRegistration(String type, EventRegistration registration) {
+        recordRegistrations(type, List.of(registration));
+    }
+    
+    public void recordRegistrations(String type, Collection<EventRegistration> registrations) {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxMessage> messages = new ArrayList<>(registrations.size());
+        for (EventRegistration registration : registrations) {
+            OutboxMessage message = new OutboxMessage();
+            message.setType(type);
+            message.setAggregateId(registration.getId());
+            message.setPayload(toJson(new RegistrationNotification(registration.getId(), registration.getEventId(),
+                    registration.getEventTitle(), registration.getUserId(), registration.getUserName(),
+                    registration.getUserEmail(), registration.getStatus())));
+            message.setCreatedAt(now);
+            message.setNextAttemptAt(now);
+            messages.add(message);
+        }
+        outboxRepository.saveAll(messages);
+    }
+    
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize outbox payload", e);
+        }
+    }
+}
@@ -0,0 +1,5 @@
+package com.example.demo.service;
+
+// Published whenever an event's registration counters or capacity change
+public record RegistrationChangedEvent(Long eventId, Long organizerId) {
+}
@@ -0,0 +1,58 @@
+package com.example.demo.service;
+
+import com.example.demo.repository.EventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Periodically recomputes the confirmed/cancelled counters on events from
+ * event_registrations, repairing any drift (manual SQL fixes, partial restores).
+ *
+ * Each drifted event is recounted in its own transaction under the event row lock that
+ * reserveSeat, releaseSeat and waitlist promotion take, so a registration whose counter
+ * change is still committing is never counted without it.
+ */
+@Component
+public class RegistrationCountReconciler {
+    
+    private static final Logger log = LoggerFactory.getLogger(RegistrationCountReconciler.class);
+    
+    @Autowired
+    private EventRepository eventRepository;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Scheduled(initialDelayString = "${app.registration.reconcile-interval-ms:600000}",
+               fixedDelayString = "${app.registration.reconcile-interval-ms:600000}")
+    public int reconcile() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        int corrected = 0;
+        for (Long eventId : eventRepository.findDriftedEventIds()) {
+            // The scan saw the counters without the lock; only the recount under it decides
+            corrected += transaction.execute(status -> eventRepository.findByIdForUpdate(eventId)
+                    .map(event -> {
+                        int fixed = eventRepository.reconcileRegistrationCounts(eventId);
+                        if (fixed > 0) {
+                            // Evicts the cached copies and moves the ETags once the correction commits
+                            eventPublisher.publishEvent(new RegistrationChangedEvent(eventId, event.getOrganizerId()));
+                        }
+                        return fixed;
+                    })
+                    .orElse(0));
+        }
+        if (corrected > 0) {
+            log.warn("Corrected registration counters on {} event(s)", corrected);
+        }
+        return corrected;
+    }
+}
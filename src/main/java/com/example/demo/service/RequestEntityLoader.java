@@ -0,0 +1,91 @@
+package com.example.demo.service;
+
+import com.example.demo.model.Event;
+import com.example.demo.model.User;
+import com.example.demo.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Per-request memo of User and Event lookups by id, so an HTTP request reads each row at most
+ * once however many times, or in however many conflict retries, it asks for it. Batch lookups
+ * are deduplicated and fetch only the ids this request has not seen yet, in one IN query.
+ *
+ * The memo is kept in the request attributes and dies with the request; outside a request
+ * (scheduled jobs, direct service calls) every lookup goes to the store. Entries hold what the
+ * request first read, so use them for identity, names and dates, never for seat counts, which
+ * are enforced in SQL.
+ */
+@Component
+public class RequestEntityLoader {
+
+    private static final String ATTRIBUTE = RequestEntityLoader.class.getName();
+
+    // Request attributes are bound to the request thread, so plain maps are enough
+    private static final class Memo {
+        final Map<Long, Optional<User>> users = new HashMap<>();
+        final Map<Long, Optional<Event>> events = new HashMap<>();
+    }
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EventService eventService;
+
+    public Optional<User> findUser(Long id) {
+        Memo memo = memo();
+        return memo == null ? userRepository.findById(id) : memo.users.computeIfAbsent(id, userRepository::findById);
+    }
+
+    // The users that exist among ids, keyed by id
+    public Map<Long, User> findUsers(Collection<Long> ids) {
+        Memo memo = memo();
+        Set<Long> missing = new LinkedHashSet<>(ids);
+        if (memo != null) {
+            missing.removeAll(memo.users.keySet());
+        }
+        Map<Long, User> loaded = new HashMap<>();
+        if (!missing.isEmpty()) {
+            userRepository.findAllById(missing).forEach(user -> loaded.put(user.getId(), user));
+        }
+        if (memo == null) {
+            return loaded;
+        }
+        // Remember the misses too, so an unknown id is not asked for twice either
+        missing.forEach(id -> memo.users.put(id, Optional.ofNullable(loaded.get(id))));
+        Map<Long, User> users = new HashMap<>();
+        for (Long id : ids) {
+            memo.users.get(id).ifPresent(user -> users.put(id, user));
+        }
+        return users;
+    }
+
+    // Through the event cache, so a cold event is read once per request and a warm one not at all
+    public Optional<Event> findEvent(Long id) {
+        Memo memo = memo();
+        return memo == null ? eventService.getEventById(id) : memo.events.computeIfAbsent(id, eventService::getEventById);
+    }
+
+    private static Memo memo() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        Memo memo = (Memo) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (memo == null) {
+            memo = new Memo();
+            attributes.setAttribute(ATTRIBUTE, memo, RequestAttributes.SCOPE_REQUEST);
+        }
+        return memo;
+    }
+}
@@ -0,0 +1,222 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.RegistrationStats;
+import com.example.demo.dto.SeatAvailability;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes seat availability to SSE subscribers.
+ *
+ * Committed registration changes only mark an event dirty. A scheduled flush then reads the
+ * counters once per dirty event and sends the same serialized payload to every subscriber, so
+ * the cost per update does not grow with the number of watchers, and an event gets at most
+ * app.sse.max-updates-per-second pushes however busy it is.
+ *
+ * The flush tick only hands dirty events to a bounded push pool (app.sse.push-*), so a slow or
+ * half-open client never holds up the shared scheduler thread. Each subscriber keeps the latest
+ * payload per event and is written by one pool task at a time: its updates stay in order, and
+ * a client that can't keep up skips to the newest numbers instead of queueing stale ones.
+ */
+@Component
+public class SeatAvailabilityPublisher {
+    
+    public static final String EVENT_NAME = "seats";
+    
+    // One connection: the events it watches and what it has not been sent yet
+    private static final class Subscriber {
+        final SseEmitter emitter;
+        final Collection<Long> eventIds;
+        final Map<Long, String> pending = new ConcurrentHashMap<>();
+        final AtomicBoolean draining = new AtomicBoolean();
+        
+        Subscriber(SseEmitter emitter, Collection<Long> eventIds) {
+            this.emitter = emitter;
+            this.eventIds = eventIds;
+        }
+    }
+    
+    @Autowired
+    private EventRegistrationService registrationService;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${app.sse.timeout:30m}")
+    private Duration timeout;
+    
+    @Value("${app.sse.push-threads:4}")
+    private int pushThreads;
+    
+    @Value("${app.sse.push-queue-capacity:10000}")
+    private int pushQueueCapacity;
+    
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+    private ThreadPoolExecutor executor;
+    
+    @PostConstruct
+    void start() {
+        AtomicInteger counter = new AtomicInteger();
+        executor = new ThreadPoolExecutor(pushThreads, pushThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(pushQueueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "seat-push-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        meterRegistry.gauge("app.sse.subscriptions", subscribers,
+                map -> map.values().stream().mapToInt(Set::size).sum());
+    }
+    
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+    
+    // One emitter can watch several events; it starts with the current numbers for each
+    public SseEmitter subscribe(Collection<Long> eventIds) {
+        return subscribe(eventIds, new SseEmitter(timeout.toMillis()));
+    }
+    
+    SseEmitter subscribe(Collection<Long> eventIds, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(emitter, List.copyOf(eventIds));
+        Runnable unsubscribe = () -> unsubscribe(subscriber);
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(error -> unsubscribe.run());
+        
+        for (Long eventId : subscriber.eventIds) {
+            subscribers.compute(eventId, (id, watchers) -> {
+                Set<Subscriber> set = watchers != null ? watchers : ConcurrentHashMap.newKeySet();
+                set.add(subscriber);
+                return set;
+            });
+            // Not handed to the client yet, so this write only buffers
+            if (!send(subscriber, payload(eventId))) {
+                break;
+            }
+        }
+        return emitter;
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onRegistrationChanged(RegistrationChangedEvent change) {
+        if (subscribers.containsKey(change.eventId())) {
+            dirty.add(change.eventId());
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "#{1000 / ${app.sse.max-updates-per-second:4}}")
+    public void flush() {
+        Iterator<Long> pending = dirty.iterator();
+        while (pending.hasNext()) {
+            Long eventId = pending.next();
+            pending.remove();
+            try {
+                executor.execute(() -> publish(eventId));
+            } catch (RejectedExecutionException e) {
+                // Pool saturated: try again on the next tick
+                dirty.add(eventId);
+                return;
+            }
+        }
+    }
+    
+    // Whether anyone still watches the event; emptied entries are removed
+    boolean isWatched(Long eventId) {
+        return subscribers.containsKey(eventId);
+    }
+    
+    private void publish(Long eventId) {
+        Set<Subscriber> watchers = subscribers.get(eventId);
+        if (watchers == null || watchers.isEmpty()) {
+            return;
+        }
+        String payload = payload(eventId);
+        for (Subscriber subscriber : watchers) {
+            subscriber.pending.put(eventId, payload);
+            if (subscriber.draining.compareAndSet(false, true)) {
+                try {
+                    executor.execute(() -> drain(subscriber));
+                } catch (RejectedExecutionException e) {
+                    // The payload stays pending and goes out with the subscriber's next update
+                    subscriber.draining.set(false);
+                }
+            }
+        }
+    }
+    
+    // Only one drain per subscriber runs at a time
+    private void drain(Subscriber subscriber) {
+        do {
+            for (Long eventId : subscriber.pending.keySet()) {
+                String payload = subscriber.pending.remove(eventId);
+                if (payload != null && !send(subscriber, payload)) {
+                    return;
+                }
+            }
+            subscriber.draining.set(false);
+        } while (!subscriber.pending.isEmpty() && subscriber.draining.compareAndSet(false, true));
+    }
+    
+    private String payload(Long eventId) {
+        RegistrationStats stats = registrationService.getRegistrationStats(eventId);
+        try {
+            return objectMapper.writeValueAsString(
+                    new SeatAvailability(eventId, stats.confirmed(), stats.remainingCapacity()));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize seat availability", e);
+        }
+    }
+    
+    // A failed write means the client went away; drop it everywhere
+    private boolean send(Subscriber subscriber, String payload) {
+        try {
+            subscriber.emitter.send(SseEmitter.event().name(EVENT_NAME).data(payload));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            subscriber.emitter.completeWithError(e);
+            unsubscribe(subscriber);
+            return false;
+        }
+    }
+    
+    private void unsubscribe(Subscriber subscriber) {
+        for (Long eventId : subscriber.eventIds) {
+            subscribers.computeIfPresent(eventId, (id, watchers) -> {
+                watchers.remove(subscriber);
+                return watchers.isEmpty() ? null : watchers;
+            });
+        }
+    }
+}
@@ -1,41 +1,109 @@
 package com.example.demo.service;
 
+import com.example.demo.dto.KeysetPage;
+import com.example.demo.dto.UserPrincipal;
+import com.example.demo.dto.UserSummary;
+import com.example.demo.model.Role;
 import com.example.demo.model.User;
 import com.example.demo.repository.UserRepository;
+import com.example.demo.util.CacheLoads;
+import com.example.demo.util.KeysetCursors;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 @Service
+@Timed(value = "app.service", histogram = true)
 public class UserService {
     
     @Autowired
     private UserRepository userRepository;
     
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashing;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    // Boot's MVC async executor; the insert after hashing runs here, not on the CPU-sized hashing pool
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private Executor taskExecutor;
+    
+    @Value("${app.cache.principals.max-size:10000}")
+    private long principalCacheMaxSize;
+    
+    @Value("${app.cache.principals.ttl:10m}")
+    private Duration principalCacheTtl;
+    
+    // Role and display name by user id; updateUser and deleteUser invalidate, the TTL is only a backstop
+    private AsyncCache<Long, UserPrincipal> principalCache;
+    
+    @PostConstruct
+    void initCache() {
+        principalCache = Caffeine.newBuilder()
+                .maximumSize(principalCacheMaxSize)
+                .expireAfterWrite(principalCacheTtl)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, principalCache, "principals");
+    }
 
     public User createUser(User user) {
+        return PasswordHashingService.await(createUserAsync(user));
+    }
+    
+    // Hashes on the password-hashing pool; the request thread is free while BCrypt runs
+    public CompletableFuture<User> createUserAsync(User user) {
         if (userRepository.existsByEmail(user.getEmail())) {
-            throw new RuntimeException("User with email " + user.getEmail() + " already exists");
+            return CompletableFuture.failedFuture(
+                    new RuntimeException("User with email " + user.getEmail() + " already exists"));
         }
-        if (user.getPassword() != null) {
-            user.setPassword(passwordEncoder.encode(user.getPassword()));
+        user.setRole(Role.forNewUser(user.getEmail(), user.getFirstName()));
+        if (user.getPassword() == null) {
+            return CompletableFuture.completedFuture(userRepository.save(user));
         }
-        return userRepository.save(user);
+        return passwordHashing.encode(user.getPassword()).thenApplyAsync(hash -> {
+            user.setPassword(hash);
+            return userRepository.save(user);
+        }, taskExecutor);
     }
     
     public List<User> getAllUsers() {
         return userRepository.findAll();
     }
     
+    public KeysetPage<UserSummary> getUserPage(String cursor, Integer size) {
+        int pageSize = KeysetCursors.pageSize(size);
+        List<UserSummary> rows = userRepository.findSummariesAfterId(
+                KeysetCursors.decodeId(cursor), Limit.of(pageSize + 1));
+        return KeysetPage.of(rows, pageSize, u -> KeysetCursors.encodeId(u.id()));
+    }
+    
     public Optional<User> getUserById(Long id) {
         return userRepository.findById(id);
     }
     
+    // Cached; at most one narrow query on a miss
+    public Optional<UserPrincipal> getPrincipal(Long id) {
+        return Optional.ofNullable(CacheLoads.getOrLoad(principalCache, id,
+                key -> userRepository.findPrincipalById(key).orElse(null)));
+    }
+    
     public Optional<User> getUserByEmail(String email) {
         return userRepository.findByEmail(email);
     }
@@ -54,22 +122,36 @@ public class UserService {
             user.setEmail(userDetails.getEmail());
         }
         if (userDetails.getPassword() != null) {
-            user.setPassword(passwordEncoder.encode(userDetails.getPassword()));
+            user.setPassword(PasswordHashingService.await(passwordHashing.encode(userDetails.getPassword())));
         }
         
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        principalCache.synchronous().invalidate(id);
+        return saved;
     }
     
     public void deleteUser(Long id) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
         userRepository.delete(user);
+        principalCache.synchronous().invalidate(id);
     }
     
     public boolean checkPassword(User user, String rawPassword) {
         if (user == null || rawPassword == null) {
             return false;
         }
-        return passwordEncoder.matches(rawPassword, user.getPassword());
+        return PasswordHashingService.await(passwordHashing.matches(rawPassword, user.getPassword()));
+    }
+    
+    // Completes with the user when the email exists and the password matches, empty otherwise
+    public CompletableFuture<Optional<User>> authenticateAsync(String email, String rawPassword) {
+        Optional<User> userOpt = userRepository.findByEmail(email);
+        if (userOpt.isEmpty() || rawPassword == null) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+        User user = userOpt.get();
+        return passwordHashing.matches(rawPassword, user.getPassword())
+                .thenApply(matches -> matches ? Optional.of(user) : Optional.<User>empty());
     }
 }
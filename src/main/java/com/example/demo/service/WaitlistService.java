@@ -0,0 +1,77 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.WaitlistPosition;
+import com.example.demo.model.EventRegistration;
+import com.example.demo.repository.EventRegistrationRepository;
+import com.example.demo.repository.EventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * FIFO waitlist kept in event_registrations as PENDING rows, ordered by waitlist_position.
+ *
+ * Joining the queue and promoting from it both happen under the event's row lock, so a seat
+ * freed by a cancellation can never be missed by someone joining at the same moment. The same
+ * lock makes "last position + 1" a safe next place in line for any number of app instances,
+ * where pooled-sequence ids would interleave blocks handed out to different JVMs.
+ */
+@Service
+@Transactional
+public class WaitlistService {
+    
+    @Autowired
+    private EventRepository eventRepository;
+    
+    @Autowired
+    private EventRegistrationRepository registrationRepository;
+    
+    @Autowired
+    private OutboxService outboxService;
+    
+    // Confirm up to the given number of registrations from the head of the queue.
+    // The caller must already hold the event row lock (any UPDATE of the event row takes it).
+    public List<EventRegistration> promote(Long eventId, int seats) {
+        if (seats <= 0) {
+            return List.of();
+        }
+        List<EventRegistration> head = registrationRepository.findByEventIdAndStatusOrderByWaitlistPositionAsc(
+                eventId, "PENDING", Limit.of(seats));
+        if (head.isEmpty() || eventRepository.reserveSeats(eventId, head.size()) == 0) {
+            return List.of();
+        }
+        head.forEach(registration -> registration.setStatus("CONFIRMED"));
+        List<EventRegistration> promoted = registrationRepository.saveAll(head);
+        outboxService.recordRegistrations(OutboxService.REGISTRATION_PROMOTED, promoted);
+        return promoted;
+    }
+    
+    // Position of the last entry in the queue, 0 when it is empty; joiners take the ones after it.
+    // The caller must already hold the event row lock.
+    public long lastPosition(Long eventId) {
+        List<Long> tail = registrationRepository.findWaitlistTail(eventId, Limit.of(1));
+        return tail.isEmpty() || tail.get(0) == null ? 0 : tail.get(0);
+    }
+    
+    // Two index lookups: the user's registration, then a count of the entries queued ahead of it
+    @Transactional(readOnly = true)
+    public WaitlistPosition getPosition(Long eventId, Long userId) {
+        EventRegistration registration = registrationRepository.findByEventIdAndUserId(eventId, userId)
+                .orElseThrow(() -> new RuntimeException("No registration found for this user and event"));
+        return getPosition(registration);
+    }
+    
+    // For a registration the caller already holds: only the count
+    @Transactional(readOnly = true)
+    public WaitlistPosition getPosition(EventRegistration registration) {
+        Long position = null;
+        if ("PENDING".equals(registration.getStatus())) {
+            position = registrationRepository.countByEventIdAndStatusAndWaitlistPositionLessThan(
+                    registration.getEventId(), "PENDING", registration.getWaitlistPosition()) + 1;
+        }
+        return new WaitlistPosition(registration.getId(), registration.getStatus(), position);
+    }
+}
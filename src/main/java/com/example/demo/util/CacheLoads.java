@@ -0,0 +1,36 @@
+package com.example.demo.util;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+// Read-through for Caffeine caches whose loader blocks on the database
+public class CacheLoads {
+    
+    // The loader runs on the caller once the cache holds an in-flight future for the key, never inside
+    // the map's compute: a virtual thread blocking on the database inside that monitor pins its carrier.
+    // Concurrent readers of the key wait on the future; an invalidate drops it, so they never see stale data.
+    // A null result is not cached.
+    public static <K, V> V getOrLoad(AsyncCache<K, V> cache, K key, Function<K, V> loader) {
+        CompletableFuture<V> loading = new CompletableFuture<>();
+        CompletableFuture<V> value = cache.get(key, (k, executor) -> loading);
+        if (value == loading) {
+            try {
+                loading.complete(loader.apply(key));
+            } catch (RuntimeException e) {
+                loading.completeExceptionally(e);
+                throw e;
+            }
+        }
+        try {
+            return value.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.demo.util;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+// Encodes and decodes the opaque cursors handed out by keyset-paginated listings
+public class KeysetCursors {
+    
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+    
+    private static final String SEPARATOR = "_";
+    
+    public static int pageSize(Integer requested) {
+        if (requested == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.max(1, Math.min(MAX_PAGE_SIZE, requested));
+    }
+    
+    public static String encodeId(Long id) {
+        return String.valueOf(id);
+    }
+    
+    // A missing cursor means "start from the beginning"
+    public static long decodeId(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(cursor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+    
+    public static String encodeDate(LocalDateTime date, Long id) {
+        return date + SEPARATOR + id;
+    }
+    
+    public static LocalDateTime decodeDate(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return LocalDateTime.of(1970, 1, 1, 0, 0);
+        }
+        try {
+            return LocalDateTime.parse(cursor.substring(0, cursor.lastIndexOf(SEPARATOR)));
+        } catch (DateTimeParseException | StringIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+    
+    public static long decodeDateId(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        return decodeId(cursor.substring(cursor.lastIndexOf(SEPARATOR) + 1));
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.demo.util;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lets at most one log line through per interval and counts the ones it held back.
+ *
+ * For handlers that can reject thousands of requests a second (a sold-out event, a signup
+ * flood): the first rejection is logged with the number suppressed since the previous one,
+ * and the rest cost two atomic operations instead of a log write.
+ */
+public class LogSampler {
+    
+    private final long intervalNanos;
+    private final AtomicLong nextAllowed;
+    private final AtomicLong suppressed = new AtomicLong();
+    
+    public LogSampler(Duration interval) {
+        this.intervalNanos = interval.toNanos();
+        this.nextAllowed = new AtomicLong(System.nanoTime());
+    }
+    
+    // -1 when this call should not log, otherwise how many calls were suppressed since the last log
+    public long sample() {
+        long now = System.nanoTime();
+        long next = nextAllowed.get();
+        if (now - next < 0 || !nextAllowed.compareAndSet(next, now + intervalNanos)) {
+            suppressed.incrementAndGet();
+            return -1;
+        }
+        return suppressed.getAndSet(0);
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.demo.util;
+
+import org.slf4j.MDC;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+// Carries the submitting thread's MDC (correlation id) onto pool threads for the duration of a task
+public class MdcPropagation {
+    
+    public static Runnable wrap(Runnable task) {
+        Map<String, String> context = MDC.getCopyOfContextMap();
+        return () -> {
+            Map<String, String> previous = MDC.getCopyOfContextMap();
+            set(context);
+            try {
+                task.run();
+            } finally {
+                set(previous);
+            }
+        };
+    }
+    
+    public static <T> Supplier<T> wrap(Supplier<T> task) {
+        Map<String, String> context = MDC.getCopyOfContextMap();
+        return () -> {
+            Map<String, String> previous = MDC.getCopyOfContextMap();
+            set(context);
+            try {
+                return task.get();
+            } finally {
+                set(previous);
+            }
+        };
+    }
+    
+    private static void set(Map<String, String> context) {
+        if (context == null) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(context);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.demo.util;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.util.List;
+
+/**
+ * Representations the list endpoints can produce, chosen from the Accept header.
+ * Smile and CBOR are binary encodings of the same JSON tree; COLUMNAR is a JSON table
+ * (see {@link com.example.demo.dto.ColumnarTable}) offered only where a handler builds one.
+ */
+public enum ResponseFormat {
+
+    JSON(MediaType.APPLICATION_JSON),
+    SMILE(new MediaType("application", "x-jackson-smile")),
+    CBOR(MediaType.APPLICATION_CBOR),
+    COLUMNAR(new MediaType("application", "vnd.columnar+json"));
+
+    private final MediaType mediaType;
+    private final String tagSuffix;
+
+    ResponseFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+        this.tagSuffix = "-" + name().toLowerCase();
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    // The format with the highest quality in Accept (earlier wins ties); JSON when nothing else matches
+    public static ResponseFormat negotiate(String accept, boolean columnarAllowed) {
+        if (accept == null || accept.isBlank()) {
+            return JSON;
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return JSON;
+        }
+        ResponseFormat best = JSON;
+        double bestQuality = 0;
+        for (MediaType type : accepted) {
+            double quality = type.getQualityValue();
+            if (quality <= bestQuality) {
+                continue;
+            }
+            for (ResponseFormat format : values()) {
+                if ((format != COLUMNAR || columnarAllowed) && type.includes(format.mediaType)) {
+                    best = format;
+                    bestQuality = quality;
+                    break;
+                }
+            }
+        }
+        return best;
+    }
+
+    // Each representation needs its own validator, or a cache could answer a 304 with the wrong one
+    public String tag(String etag) {
+        if (this == JSON) {
+            return etag;
+        }
+        return etag.substring(0, etag.length() - 1) + tagSuffix + "\"";
+    }
+}
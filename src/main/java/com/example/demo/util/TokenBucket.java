@@ -0,0 +1,44 @@
+package com.example.demo.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket holding a single long.
+ *
+ * Instead of a token count plus a refill timestamp, the bucket stores the time at which it
+ * will next be full (the GCRA form of a token bucket). Taking a token pushes that time one
+ * refill interval forward; the request is refused when that would put it more than
+ * capacity intervals ahead of now. One CAS per attempt, no allocation, and a bucket whose
+ * full-time is in the past is indistinguishable from a new one, so idle buckets can be
+ * dropped without losing anything.
+ */
+public class TokenBucket {
+    
+    private final long refillIntervalNanos;
+    private final long burstNanos;
+    private final AtomicLong fullAt;
+    
+    public TokenBucket(int capacity, double refillPerSecond, long nowNanos) {
+        if (capacity < 1 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("Capacity must be at least 1 and the refill rate positive");
+        }
+        this.refillIntervalNanos = (long) (1_000_000_000L / refillPerSecond);
+        this.burstNanos = refillIntervalNanos * capacity;
+        this.fullAt = new AtomicLong(nowNanos);
+    }
+    
+    // 0 when a token was taken, otherwise the nanoseconds until one will be available
+    public long tryAcquire(long nowNanos) {
+        while (true) {
+            long current = fullAt.get();
+            long next = (current - nowNanos > 0 ? current : nowNanos) + refillIntervalNanos;
+            long wait = next - nowNanos - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
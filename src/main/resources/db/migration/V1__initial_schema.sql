@@ -0,0 +1,47 @@
+-- Schema as of the entity model: users, events, event_registrations and their indexes
+
+CREATE TABLE users (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    first_name  VARCHAR(50)  NOT NULL,
+    last_name   VARCHAR(50)  NOT NULL,
+    email       VARCHAR(255) NOT NULL,
+    password    VARCHAR(255) NOT NULL,
+    CONSTRAINT pk_users PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE events (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    title           VARCHAR(255) NOT NULL,
+    description     VARCHAR(500),
+    event_date      TIMESTAMP(6) NOT NULL,
+    location        VARCHAR(255) NOT NULL,
+    capacity        INTEGER      NOT NULL,
+    organizer_id    BIGINT       NOT NULL,
+    organizer_name  VARCHAR(255),
+    confirmed_count INTEGER      NOT NULL DEFAULT 0,
+    cancelled_count INTEGER      NOT NULL DEFAULT 0,
+    CONSTRAINT pk_events PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_events_organizer ON events (organizer_id);
+CREATE INDEX idx_events_date ON events (event_date);
+
+-- Ids come from a pooled sequence (allocationSize 50 on EventRegistration) so inserts batch
+CREATE SEQUENCE event_registrations_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE event_registrations (
+    id                BIGINT       NOT NULL,
+    event_id          BIGINT       NOT NULL,
+    user_id           BIGINT       NOT NULL,
+    registration_date TIMESTAMP(6) NOT NULL,
+    status            VARCHAR(20)  NOT NULL,
+    user_name         VARCHAR(255),
+    user_email        VARCHAR(255),
+    event_title       VARCHAR(255),
+    CONSTRAINT pk_event_registrations PRIMARY KEY (id),
+    CONSTRAINT uk_event_registrations_event_user UNIQUE (event_id, user_id)
+);
+
+CREATE INDEX idx_registrations_user ON event_registrations (user_id);
+CREATE INDEX idx_registrations_event_status ON event_registrations (event_id, status);
@@ -0,0 +1,3 @@
+-- Optimistic locking for Event and EventRegistration edits
+ALTER TABLE events ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE event_registrations ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
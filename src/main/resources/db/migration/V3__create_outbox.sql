@@ -0,0 +1,17 @@
+-- Transactional outbox: side effects of registration changes, written with the change and drained asynchronously
+CREATE SEQUENCE outbox_messages_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE outbox_messages (
+    id              BIGINT        NOT NULL,
+    type            VARCHAR(50)   NOT NULL,
+    aggregate_id    BIGINT        NOT NULL,
+    payload         VARCHAR(4000) NOT NULL,
+    status          VARCHAR(20)   NOT NULL,
+    attempts        INTEGER       NOT NULL,
+    created_at      TIMESTAMP(6)  NOT NULL,
+    next_attempt_at TIMESTAMP(6)  NOT NULL,
+    last_error      VARCHAR(1000),
+    CONSTRAINT pk_outbox_messages PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_outbox_status_next_attempt ON outbox_messages (status, next_attempt_at);
@@ -0,0 +1,3 @@
+-- Stored role; accounts the old email/first-name rule treated as admins keep that role
+ALTER TABLE users ADD COLUMN role VARCHAR(20) DEFAULT 'USER' NOT NULL;
+UPDATE users SET role = 'ADMIN' WHERE LOWER(email) LIKE '%admin%' OR LOWER(first_name) = 'admin';
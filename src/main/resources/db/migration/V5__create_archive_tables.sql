@@ -0,0 +1,36 @@
+-- Past events and their registrations, moved out of the hot tables by EventArchiver; rows keep their original ids
+
+CREATE TABLE events_archive (
+    id              BIGINT       NOT NULL,
+    title           VARCHAR(255) NOT NULL,
+    description     VARCHAR(500),
+    event_date      TIMESTAMP(6) NOT NULL,
+    location        VARCHAR(255) NOT NULL,
+    capacity        INTEGER      NOT NULL,
+    organizer_id    BIGINT       NOT NULL,
+    organizer_name  VARCHAR(255),
+    confirmed_count INTEGER      NOT NULL,
+    cancelled_count INTEGER      NOT NULL,
+    version         BIGINT       NOT NULL,
+    archived_at     TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_events_archive PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_events_archive_organizer ON events_archive (organizer_id);
+
+CREATE TABLE event_registrations_archive (
+    id                BIGINT       NOT NULL,
+    event_id          BIGINT       NOT NULL,
+    user_id           BIGINT       NOT NULL,
+    registration_date TIMESTAMP(6) NOT NULL,
+    status            VARCHAR(20)  NOT NULL,
+    user_name         VARCHAR(255),
+    user_email        VARCHAR(255),
+    event_title       VARCHAR(255),
+    version           BIGINT       NOT NULL,
+    archived_at       TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_event_registrations_archive PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_registrations_archive_event ON event_registrations_archive (event_id);
+CREATE INDEX idx_registrations_archive_user ON event_registrations_archive (user_id);
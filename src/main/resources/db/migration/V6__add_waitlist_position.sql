@@ -0,0 +1,14 @@
+-- Waitlist order as an explicit column. Pooled-sequence ids are only increasing within one instance,
+-- so they cannot order a queue that several instances append to. A joiner takes the event's highest
+-- PENDING position + 1 while holding the event row lock, which serializes joins across instances.
+ALTER TABLE event_registrations ADD COLUMN waitlist_position BIGINT;
+
+-- Existing queues keep the order they were served in, which was by id
+UPDATE event_registrations er SET waitlist_position = (
+    SELECT COUNT(*) FROM event_registrations ahead
+    WHERE ahead.event_id = er.event_id AND ahead.status = 'PENDING' AND ahead.id <= er.id)
+WHERE er.status = 'PENDING';
+
+-- Serves the head, tail and count-ahead lookups; its (event_id, status) prefix replaces the old index
+DROP INDEX idx_registrations_event_status;
+CREATE INDEX idx_registrations_event_status_position ON event_registrations (event_id, status, waitlist_position);
@@ -1,9 +1,9 @@
 package com.example.demo;
 
+import com.example.demo.support.IntegrationTest;
 import org.junit.jupiter.api.Test;
-import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@IntegrationTest
 class DemoApplicationTests {
 
 	@Test
@@ -0,0 +1,83 @@
+package com.example.demo.config;
+
+import com.example.demo.support.IntegrationTest;
+import com.example.demo.util.MdcPropagation;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@IntegrationTest
+public class CorrelationIdFilterTest {
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+
+    @Test
+    void testCallerSuppliedIdIsEchoed() throws Exception {
+        HttpResponse<String> response = send("/api/events", "checkout-42");
+
+        assertThat(response.headers().firstValue(CorrelationIdFilter.HEADER)).hasValue("checkout-42");
+    }
+
+    @Test
+    void testMissingOrUnsafeIdIsReplaced() throws Exception {
+        HttpResponse<String> missing = send("/api/events", null);
+        HttpResponse<String> unsafe = send("/api/events", "x\"}{injected");
+
+        assertThat(UUID.fromString(missing.headers().firstValue(CorrelationIdFilter.HEADER).orElseThrow())).isNotNull();
+        assertThat(unsafe.headers().firstValue(CorrelationIdFilter.HEADER).orElseThrow()).doesNotContain("injected");
+    }
+
+    @Test
+    void testAsyncHandlersKeepTheOriginalId() throws Exception {
+        // Login completes on the hashing pool and is finished by an async dispatch
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/users/login"))
+                .header("Content-Type", "application/json")
+                .header(CorrelationIdFilter.HEADER, "login-7")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"email\":\"nobody@example.com\",\"password\":\"Secret@123\"}"))
+                .build();
+
+        HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+
+        assertThat(response.statusCode()).isEqualTo(401);
+        assertThat(response.headers().allValues(CorrelationIdFilter.HEADER)).containsExactly("login-7");
+    }
+
+    @Test
+    void testPoolTasksSeeTheSubmittersCorrelationId() {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            MDC.put(CorrelationIdFilter.MDC_KEY, "batch-1");
+            CompletableFuture<String> seen = CompletableFuture.supplyAsync(
+                    MdcPropagation.wrap(() -> MDC.get(CorrelationIdFilter.MDC_KEY)), executor);
+            MDC.remove(CorrelationIdFilter.MDC_KEY);
+
+            assertThat(seen.join()).isEqualTo("batch-1");
+            // and the pool thread is left clean for the next task
+            assertThat(CompletableFuture.supplyAsync(() -> MDC.get(CorrelationIdFilter.MDC_KEY), executor).join()).isNull();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private HttpResponse<String> send(String path, String correlationId) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path));
+        if (correlationId != null) {
+            request.header(CorrelationIdFilter.HEADER, correlationId);
+        }
+        return http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.demo.config;
+
+import com.example.demo.model.Event;
+import com.example.demo.model.User;
+import com.example.demo.service.EventRegistrationService;
+import com.example.demo.support.IntegrationTest;
+import com.example.demo.support.TestData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@IntegrationTest
+public class MetricsTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private EventRegistrationService registrationService;
+
+    @Autowired
+    private TestData testData;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+
+    @AfterEach
+    void tearDown() {
+        testData.cleanUp();
+    }
+
+    @Test
+    void testResponsesCarryTheirQueryCount() throws Exception {
+        Event event = newEvent();
+
+        HttpResponse<String> response = get("/api/registrations/stats/" + event.getId());
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        // Stats come from the event row's counters: a single statement
+        assertThat(response.headers().firstValue(QueryCountConfig.HEADER)).hasValue("1");
+    }
+
+    @Test
+    void testPrometheusScrapeHasServiceRepositoryPoolAndHibernateMeters() throws Exception {
+        Event event = newEvent();
+        User attendee = testData.saveUser("attendee");
+        registrationService.registerUserForEvent(event.getId(), attendee.getId());
+        get("/api/registrations/stats/" + event.getId());
+
+        HttpResponse<String> scrape = get("/actuator/prometheus");
+
+        assertThat(scrape.statusCode()).isEqualTo(200);
+        assertThat(scrape.body())
+                .contains("app_service_seconds_bucket{class=\"com.example.demo.service.EventRegistrationService\"")
+                .contains("method=\"registerUserForEvent\"")
+                .contains("spring_data_repository_invocations_seconds_bucket")
+                .contains("repository=\"EventRepository\"")
+                .contains("hikaricp_connections_acquire_seconds_bucket")
+                .contains("hibernate_statements_total")
+                .contains("hibernate_entities_loads_total");
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).build();
+        return http.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private Event newEvent() {
+        User organizer = testData.saveUser("organizer");
+        return testData.saveEvent("Metered", organizer.getId(), LocalDateTime.now().plusDays(5), 10);
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.demo.config;
+
+import com.example.demo.util.TokenBucket;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RateLimitFilterTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RateLimitFilter filter = new RateLimitFilter(new RateLimitProperties(true, 1000, Duration.ofMinutes(10),
+            List.of(new RateLimitProperties.Rule("registrations", "POST", "/api/registrations/**", 3, 0.5))),
+            meterRegistry);
+
+    @Test
+    void testBurstThenTooManyRequestsWithRetryAfter() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            assertThat(send("POST", "/api/registrations", "10.0.0.1").getStatus()).isEqualTo(200);
+        }
+
+        MockHttpServletResponse refused = send("POST", "/api/registrations/batch", "10.0.0.1");
+
+        assertThat(refused.getStatus()).isEqualTo(429);
+        // one token every two seconds
+        assertThat(refused.getHeader("Retry-After")).isEqualTo("2");
+        assertThat(meterRegistry.counter("app.ratelimit.rejected", "rule", "registrations").count()).isEqualTo(1);
+    }
+
+    @Test
+    void testClientsAndUnlimitedEndpointsAreIndependent() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            send("POST", "/api/registrations", "10.0.0.1");
+        }
+
+        assertThat(send("POST", "/api/registrations", "10.0.0.2").getStatus()).isEqualTo(200);
+        assertThat(send("GET", "/api/registrations/stats/1", "10.0.0.1").getStatus()).isEqualTo(200);
+        assertThat(send("POST", "/api/events", "10.0.0.1").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void testEncodedAndPaddedPathsCountAgainstTheSameRule() throws Exception {
+        assertThat(send("POST", "/api/%72egistrations", "10.0.0.1").getStatus()).isEqualTo(200);
+        assertThat(send("POST", "/api//registrations", "10.0.0.1").getStatus()).isEqualTo(200);
+        assertThat(send("POST", "/api/registrations;jsessionid=abc", "10.0.0.1").getStatus()).isEqualTo(200);
+
+        assertThat(send("POST", "/api/%72egistrations/batch", "10.0.0.1").getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    void testBucketRefillsAtTheConfiguredRate() {
+        TokenBucket bucket = new TokenBucket(2, 1.0, 0);
+
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(0)).isEqualTo(SECOND);
+        assertThat(bucket.tryAcquire(SECOND / 2)).isEqualTo(SECOND / 2);
+        assertThat(bucket.tryAcquire(SECOND)).isZero();
+        // a long pause refills to capacity, never beyond it
+        assertThat(bucket.tryAcquire(100 * SECOND)).isZero();
+        assertThat(bucket.tryAcquire(100 * SECOND)).isZero();
+        assertThat(bucket.tryAcquire(100 * SECOND)).isPositive();
+    }
+
+    @Test
+    void testConcurrentCallersNeverExceedCapacity() throws Exception {
+        TokenBucket bucket = new TokenBucket(500, 0.001, System.nanoTime());
+        AtomicInteger granted = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 1000; i++) {
+                        if (bucket.tryAcquire(System.nanoTime()) == 0) {
+                            granted.incrementAndGet();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(granted.get()).isEqualTo(500);
+    }
+
+    private MockHttpServletResponse send(String method, String uri, String client) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setRemoteAddr(client);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
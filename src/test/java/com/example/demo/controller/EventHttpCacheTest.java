@@ -0,0 +1,173 @@
+package com.example.demo.controller;
+
+import com.example.demo.model.Event;
+import com.example.demo.model.User;
+import com.example.demo.service.EventRegistrationService;
+import com.example.demo.service.EventService;
+import com.example.demo.support.IntegrationTest;
+import com.example.demo.support.TestData;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@IntegrationTest
+public class EventHttpCacheTest {
+
+    private static final Set<String> READS = Set.of("getAllEvents", "getEventById", "getEventsByOrganizer");
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventRegistrationService registrationService;
+
+    @Autowired
+    private TestData testData;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+
+    private User organizer;
+    private Event event;
+
+    @BeforeEach
+    void setUp() {
+        organizer = testData.saveUser("organizer");
+        event = eventService.createEvent(TestData.newEvent("Cached", organizer.getId(), LocalDateTime.now().plusDays(5), 10));
+    }
+
+    @AfterEach
+    void tearDown() {
+        testData.cleanUp();
+    }
+
+    @Test
+    void testRevalidationAnswers304WithoutLoadingEvents() throws Exception {
+        for (String path : new String[] {"/api/events", "/api/events/" + event.getId(),
+                "/api/events/organizer/" + organizer.getId()}) {
+            long reads = eventReads();
+            HttpResponse<String> first = get(path, null);
+            assertThat(first.statusCode()).isEqualTo(200);
+            String etag = first.headers().firstValue("ETag").orElseThrow();
+            assertThat(first.headers().firstValue("Cache-Control").orElseThrow())
+                    .contains("max-age=0").contains("s-maxage=").contains("public");
+            assertThat(eventReads()).as("timers see the 200").isGreaterThan(reads);
+
+            reads = eventReads();
+            HttpResponse<String> revalidated = get(path, etag);
+
+            assertThat(revalidated.statusCode()).as(path).isEqualTo(304);
+            assertThat(revalidated.body()).isEmpty();
+            assertThat(revalidated.headers().firstValue("ETag")).hasValue(etag);
+            assertThat(eventReads()).isEqualTo(reads);
+        }
+    }
+
+    @Test
+    void testRegistrationChangesTheEventsTagsOnly() throws Exception {
+        User otherOrganizer = testData.saveUser("other");
+        String eventTag = get("/api/events/" + event.getId(), null).headers().firstValue("ETag").orElseThrow();
+        String listTag = get("/api/events", null).headers().firstValue("ETag").orElseThrow();
+        String otherTag = get("/api/events/organizer/" + otherOrganizer.getId(), null)
+                .headers().firstValue("ETag").orElseThrow();
+
+        // Seat counters change through bulk updates that leave the entity's @Version alone
+        registrationService.registerUserForEvent(event.getId(), testData.saveUser("attendee").getId());
+
+        HttpResponse<String> changed = get("/api/events/" + event.getId(), eventTag);
+        assertThat(changed.statusCode()).isEqualTo(200);
+        assertThat(changed.body()).contains("\"confirmedCount\":1");
+        assertThat(get("/api/events", listTag).statusCode()).isEqualTo(200);
+        assertThat(get("/api/events/organizer/" + otherOrganizer.getId(), otherTag).statusCode()).isEqualTo(304);
+    }
+
+    @Test
+    void testFormatsHaveTheirOwnTagsAndLargeListsAreGzipped() throws Exception {
+        for (int i = 0; i < 30; i++) {
+            Event more = TestData.newEvent("Listed " + i, organizer.getId(), LocalDateTime.now().plusDays(5), 10);
+            more.setDescription("A description long enough to push the list past the compression threshold");
+            eventService.createEvent(more);
+        }
+        String jsonTag = get("/api/events", null).headers().firstValue("ETag").orElseThrow();
+
+        HttpResponse<byte[]> smile = http.send(request("/api/events")
+                .header("Accept", "application/x-jackson-smile")
+                .header("Accept-Encoding", "gzip")
+                .header("If-None-Match", jsonTag).build(), HttpResponse.BodyHandlers.ofByteArray());
+
+        // The JSON tag doesn't validate the Smile representation
+        assertThat(smile.statusCode()).isEqualTo(200);
+        assertThat(smile.headers().firstValue("Content-Type")).hasValue("application/x-jackson-smile");
+        assertThat(smile.headers().firstValue("Content-Encoding")).hasValue("gzip");
+        assertThat(smile.headers().allValues("Vary").stream()
+                .flatMap(vary -> Arrays.stream(vary.split(",")))
+                .map(name -> name.trim().toLowerCase()))
+                .contains("accept", "accept-encoding");
+        assertThat(smile.headers().firstValue("ETag").orElseThrow()).isNotEqualTo(jsonTag);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(smile.body()))) {
+            assertThat(new ObjectMapper(new SmileFactory()).readTree(in).size()).isEqualTo(31);
+        }
+    }
+
+    @Test
+    void testColumnarRegistrationsSendTheEventOnce() throws Exception {
+        registrationService.registerUserForEvent(event.getId(), testData.saveUser("first").getId());
+        registrationService.registerUserForEvent(event.getId(), testData.saveUser("second").getId());
+
+        HttpResponse<String> response = http.send(request("/api/registrations/event/" + event.getId())
+                .header("Accept", "application/vnd.columnar+json").build(), HttpResponse.BodyHandlers.ofString());
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue("Content-Type")).hasValue("application/vnd.columnar+json");
+        JsonNode table = new ObjectMapper().readTree(response.body());
+        assertThat(table.at("/header/eventTitle").asText()).isEqualTo("Cached");
+        assertThat(table.at("/columns/2").asText()).isEqualTo("userName");
+        assertThat(table.get("rows")).hasSize(2);
+        assertThat(table.at("/rows/0/2").asText()).isEqualTo("first Tester");
+        assertThat(table.get("rows").toString()).doesNotContain("Cached");
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path));
+    }
+
+    private HttpResponse<String> get(String path, String ifNoneMatch) throws Exception {
+        HttpRequest.Builder request = request(path);
+        if (ifNoneMatch != null) {
+            request.header("If-None-Match", ifNoneMatch);
+        }
+        return http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    // Completed EventService reads, from the timers its class-level @Timed records per method
+    private long eventReads() {
+        return meterRegistry.find("app.service").tag("class", EventService.class.getName()).timers().stream()
+                .filter(timer -> READS.contains(timer.getId().getTag("method")))
+                .mapToLong(Timer::count)
+                .sum();
+    }
+}
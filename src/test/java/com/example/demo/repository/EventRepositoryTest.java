@@ -0,0 +1,68 @@
+package com.example.demo.repository;
+
+import com.example.demo.dto.EventSummary;
+import com.example.demo.model.Event;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+public class EventRepositoryTest {
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    private final LocalDateTime base = LocalDateTime.of(2030, 1, 1, 10, 0);
+
+    @BeforeEach
+    void setUp() {
+        eventRepository.deleteAllInBatch();
+        // Saved in reverse date order so id order and date order differ
+        for (int i = 0; i < 5; i++) {
+            eventRepository.save(newEvent("Event " + i, base.plusDays(5 - i)));
+        }
+        // Two events share a timestamp to exercise the id tie-breaker
+        eventRepository.save(newEvent("Event 5", base.plusDays(1)));
+    }
+
+    @Test
+    void testSummariesAfterIdWalkAllRows() {
+        List<EventSummary> first = eventRepository.findSummariesAfterId(0L, Limit.of(4));
+        List<EventSummary> second = eventRepository.findSummariesAfterId(first.get(3).id(), Limit.of(4));
+
+        assertThat(first).hasSize(4);
+        assertThat(second).hasSize(2);
+        assertThat(second.get(0).id()).isGreaterThan(first.get(3).id());
+    }
+
+    @Test
+    void testSummariesAfterDateBreakTiesById() {
+        LocalDateTime start = LocalDateTime.of(1970, 1, 1, 0, 0);
+        List<EventSummary> first = eventRepository.findSummariesAfterDate(start, 0L, Limit.of(1));
+        EventSummary last = first.get(0);
+        List<EventSummary> rest = eventRepository.findSummariesAfterDate(last.eventDate(), last.id(), Limit.of(10));
+
+        assertThat(last.eventDate()).isEqualTo(base.plusDays(1));
+        assertThat(rest).hasSize(5);
+        assertThat(rest.get(0).eventDate()).isEqualTo(base.plusDays(1));
+        assertThat(rest.get(0).id()).isGreaterThan(last.id());
+        assertThat(rest).extracting(EventSummary::eventDate).isSorted();
+    }
+
+    private Event newEvent(String title, LocalDateTime date) {
+        Event event = new Event();
+        event.setTitle(title);
+        event.setEventDate(date);
+        event.setLocation("Hall");
+        event.setCapacity(10);
+        event.setOrganizerId(1L);
+        return event;
+    }
+}
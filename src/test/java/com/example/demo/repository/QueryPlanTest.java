@@ -0,0 +1,229 @@
+package com.example.demo.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs every query method declared on the repositories against a seeded dataset, captures the SQL
+ * Hibernate sends, and fails if H2's EXPLAIN plan for any of it contains a full table scan.
+ * A new repository method fails the coverage check until it is added here.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.example.demo.repository.QueryPlanTest$SqlRecorder")
+public class QueryPlanTest {
+
+    // Whole-table by design: rebuilding in-memory indexes and the periodic counter reconciliation
+    private static final Set<String> FULL_SCANS = Set.of("streamAll", "findDriftedEventIds");
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EventRegistrationRepository registrationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OutboxMessageRepository outboxRepository;
+
+    @Autowired
+    private ArchivedEventRepository archivedEventRepository;
+
+    @Autowired
+    private ArchivedRegistrationRepository archivedRegistrationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        List<Object[]> users = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            users.add(new Object[] {"User" + i, "Plan", "plan" + i + "@example.com", "Secret@123"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (first_name, last_name, email, password) VALUES (?, ?, ?, ?)", users);
+
+        List<Object[]> events = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            events.add(new Object[] {"Event " + i, Timestamp.valueOf(LocalDateTime.now().plusDays(i)), "Hall",
+                    1000, (long) (i % 40), 0, 0});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO events (title, event_date, location, capacity, organizer_id, " +
+                "confirmed_count, cancelled_count) VALUES (?, ?, ?, ?, ?, ?, ?)", events);
+        Long firstEvent = jdbcTemplate.queryForObject("SELECT MIN(id) FROM events", Long.class);
+
+        List<Object[]> registrations = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            registrations.add(new Object[] {firstEvent + i % 200, (long) (i / 200), Timestamp.valueOf(LocalDateTime.now()),
+                    i % 10 == 0 ? "CANCELLED" : i % 10 == 1 ? "PENDING" : "CONFIRMED"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO event_registrations (id, event_id, user_id, registration_date, status) " +
+                "VALUES (NEXT VALUE FOR event_registrations_seq, ?, ?, ?, ?)", registrations);
+        List<Object[]> outbox = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            Timestamp at = Timestamp.valueOf(LocalDateTime.now().minusSeconds(i));
+            outbox.add(new Object[] {"REGISTRATION_CONFIRMED", (long) i, "{}", i % 20 == 0 ? "FAILED" : "PENDING", at, at});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO outbox_messages (id, type, aggregate_id, payload, status, attempts, " +
+                "created_at, next_attempt_at) VALUES (NEXT VALUE FOR outbox_messages_seq, ?, ?, ?, ?, 0, ?, ?)", outbox);
+        jdbcTemplate.execute("ANALYZE");
+        SqlRecorder.statements.clear();
+    }
+
+    @Test
+    void testEveryRepositoryQueryUsesAnIndex() {
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+        queries.put("EventRepository.findByOrganizerId", () -> eventRepository.findByOrganizerId(3L));
+        queries.put("EventRepository.findSummariesAfterId", () -> eventRepository.findSummariesAfterId(10L, Limit.of(20)));
+        queries.put("EventRepository.findSummariesAfterDate", () -> eventRepository.findSummariesAfterDate(LocalDateTime.now(), 0L, Limit.of(20)));
+        queries.put("EventRepository.findSummariesBetween",
+                () -> eventRepository.findSummariesBetween(LocalDateTime.now(), LocalDateTime.now().plusDays(7), Limit.of(20)));
+        queries.put("EventRepository.streamSummariesFrom", () -> {
+            try (var stream = eventRepository.streamSummariesFrom(LocalDateTime.now().plusDays(190))) {
+                stream.count();
+            }
+        });
+        queries.put("EventRepository.findSummariesBefore",
+                () -> eventRepository.findSummariesBefore(LocalDateTime.now().plusDays(3), Limit.of(200)));
+        queries.put("EventRepository.deleteByIds", () -> eventRepository.deleteByIds(List.of(-1L, -2L)));
+        queries.put("EventRepository.reserveSeat", () -> eventRepository.reserveSeat(1L));
+        queries.put("EventRepository.reserveSeats", () -> eventRepository.reserveSeats(1L, 2));
+        queries.put("EventRepository.findConfirmedCount", () -> eventRepository.findConfirmedCount(1L));
+        queries.put("EventRepository.findByIdForUpdate", () -> eventRepository.findByIdForUpdate(1L));
+        queries.put("EventRepository.releaseSeat", () -> eventRepository.releaseSeat(1L));
+        queries.put("EventRepository.recordCancellation", () -> eventRepository.recordCancellation(1L));
+        queries.put("EventRepository.reconcileRegistrationCounts", () -> eventRepository.reconcileRegistrationCounts(1L));
+        queries.put("EventRegistrationRepository.findByEventIdAndStatusOrderByWaitlistPositionAsc",
+                () -> registrationRepository.findByEventIdAndStatusOrderByWaitlistPositionAsc(1L, "PENDING", Limit.of(5)));
+        queries.put("EventRegistrationRepository.countByEventIdAndStatusAndWaitlistPositionLessThan",
+                () -> registrationRepository.countByEventIdAndStatusAndWaitlistPositionLessThan(1L, "PENDING", 1000L));
+        queries.put("EventRegistrationRepository.findWaitlistTail",
+                () -> registrationRepository.findWaitlistTail(1L, Limit.of(1)));
+        queries.put("EventRegistrationRepository.findByEventIdAndUserId", () -> registrationRepository.findByEventIdAndUserId(1L, 2L));
+        queries.put("EventRegistrationRepository.findByEventId", () -> registrationRepository.findByEventId(1L));
+        queries.put("EventRegistrationRepository.findByUserId", () -> registrationRepository.findByUserId(2L));
+        queries.put("EventRegistrationRepository.countByEventId", () -> registrationRepository.countByEventId(1L));
+        queries.put("EventRegistrationRepository.countByEventIdAndStatus", () -> registrationRepository.countByEventIdAndStatus(1L, "CONFIRMED"));
+        queries.put("EventRegistrationRepository.existsByEventIdAndUserId", () -> registrationRepository.existsByEventIdAndUserId(1L, 2L));
+        queries.put("EventRegistrationRepository.findRegisteredUserIds", () -> registrationRepository.findRegisteredUserIds(1L, List.of(1L, 2L, 3L)));
+        queries.put("EventRegistrationRepository.findRegistrationsForOrganizerEvents", () -> registrationRepository.findRegistrationsForOrganizerEvents(3L));
+        queries.put("EventRegistrationRepository.streamRegistrationsForOrganizerEvents", () -> {
+            try (var stream = registrationRepository.streamRegistrationsForOrganizerEvents(3L)) {
+                stream.count();
+            }
+        });
+        queries.put("EventRegistrationRepository.countByEventIds", () -> registrationRepository.countByEventIds(List.of(1L, 2L)));
+        queries.put("EventRegistrationRepository.deleteByEventIds", () -> registrationRepository.deleteByEventIds(List.of(-1L)));
+        queries.put("ArchivedEventRepository.findByOrganizerIdOrderByEventDateDesc",
+                () -> archivedEventRepository.findByOrganizerIdOrderByEventDateDesc(3L));
+        queries.put("ArchivedEventRepository.copyFromEvents",
+                () -> archivedEventRepository.copyFromEvents(List.of(-1L), LocalDateTime.now()));
+        queries.put("ArchivedRegistrationRepository.findByEventIdOrderByIdAsc",
+                () -> archivedRegistrationRepository.findByEventIdOrderByIdAsc(1L));
+        queries.put("ArchivedRegistrationRepository.findByUserIdOrderByIdDesc",
+                () -> archivedRegistrationRepository.findByUserIdOrderByIdDesc(1L));
+        queries.put("ArchivedRegistrationRepository.copyFromRegistrations",
+                () -> archivedRegistrationRepository.copyFromRegistrations(List.of(-1L), LocalDateTime.now()));
+        queries.put("EventRegistrationRepository.findSummariesByEventIdAfterId", () -> registrationRepository.findSummariesByEventIdAfterId(1L, 0L, Limit.of(20)));
+        queries.put("UserRepository.findByEmail", () -> userRepository.findByEmail("plan7@example.com"));
+        queries.put("UserRepository.existsByEmail", () -> userRepository.existsByEmail("plan7@example.com"));
+        queries.put("UserRepository.findSummariesAfterId", () -> userRepository.findSummariesAfterId(10L, Limit.of(20)));
+        queries.put("UserRepository.findPrincipalById", () -> userRepository.findPrincipalById(7L));
+
+        queries.put("OutboxMessageRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc",
+                () -> outboxRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc("PENDING", LocalDateTime.now(), Limit.of(100)));
+        queries.put("OutboxMessageRepository.countByStatus", () -> outboxRepository.countByStatus("PENDING"));
+        queries.put("OutboxMessageRepository.findFirstByStatusOrderByNextAttemptAtAsc",
+                () -> outboxRepository.findFirstByStatusOrderByNextAttemptAtAsc("PENDING"));
+
+        Set<String> declared = Arrays.stream(new Class<?>[] {EventRepository.class, EventRegistrationRepository.class,
+                        UserRepository.class, OutboxMessageRepository.class, ArchivedEventRepository.class,
+                        ArchivedRegistrationRepository.class})
+                .flatMap(repository -> Arrays.stream(repository.getDeclaredMethods()))
+                .filter(method -> !FULL_SCANS.contains(method.getName()))
+                .map(method -> method.getDeclaringClass().getSimpleName() + "." + method.getName())
+                .collect(Collectors.toSet());
+        assertThat(queries.keySet())
+                .as("repository queries covered by this test")
+                .isEqualTo(declared);
+
+        Map<String, String> scans = new LinkedHashMap<>();
+        queries.forEach((name, query) -> {
+            SqlRecorder.statements.clear();
+            query.run();
+            for (String sql : SqlRecorder.statements) {
+                String plan = explain(sql);
+                if (plan.contains(".tableScan")) {
+                    scans.put(name, plan);
+                }
+            }
+        });
+
+        assertThat(scans).isEmpty();
+    }
+
+    // H2 plans with parameters bound, so each placeholder gets a value of the type it expects
+    private String explain(String sql) {
+        return jdbcTemplate.execute((Connection connection) -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                ParameterMetaData parameters = statement.getParameterMetaData();
+                for (int i = 1; i <= parameters.getParameterCount(); i++) {
+                    bindSample(statement, i, parameters.getParameterType(i));
+                }
+                StringBuilder plan = new StringBuilder();
+                try (ResultSet rows = statement.executeQuery()) {
+                    while (rows.next()) {
+                        plan.append(rows.getString(1));
+                    }
+                }
+                return plan.toString();
+            }
+        });
+    }
+
+    private static void bindSample(PreparedStatement statement, int index, int type) throws SQLException {
+        switch (type) {
+            case Types.TIMESTAMP -> statement.setTimestamp(index, Timestamp.valueOf(LocalDateTime.now()));
+            case Types.VARCHAR, Types.CHAR -> statement.setString(index, "CONFIRMED");
+            default -> statement.setLong(index, 1L);
+        }
+    }
+
+    /** Collects every SQL string Hibernate prepares during the test. */
+    public static class SqlRecorder implements StatementInspector {
+
+        static final List<String> statements = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.demo.service;
+
+import com.example.demo.controller.ArchiveController;
+import com.example.demo.model.ArchivedRegistration;
+import com.example.demo.model.Event;
+import com.example.demo.model.EventRegistration;
+import com.example.demo.model.User;
+import com.example.demo.repository.EventRegistrationRepository;
+import com.example.demo.repository.EventRepository;
+import com.example.demo.support.IntegrationTest;
+import com.example.demo.support.TestData;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The shared context archives in chunks of 3 rows: the past events below (3, 2 and 0 registrations) need two transactions
+@IntegrationTest
+public class EventArchiverTest {
+
+    @Autowired
+    private EventArchiver archiver;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private ArchiveController archiveController;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EventRegistrationRepository registrationRepository;
+
+    @Autowired
+    private TestData testData;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User organizer;
+
+    @BeforeEach
+    void setUp() {
+        organizer = testData.saveUser("organizer");
+    }
+
+    @AfterEach
+    void tearDown() {
+        testData.cleanUp();
+        jdbcTemplate.update("DELETE FROM event_registrations_archive");
+        jdbcTemplate.update("DELETE FROM events_archive");
+    }
+
+    @Test
+    void testPastEventsMoveWithTheirRegistrations() {
+        Event old = create("Old", LocalDateTime.now().minusDays(200), 3);
+        Event older = create("Older", LocalDateTime.now().minusDays(300), 2);
+        Event empty = create("Empty", LocalDateTime.now().minusDays(100), 0);
+        Event recent = create("Recent", LocalDateTime.now().minusDays(10), 1);
+        Event upcoming = create("Upcoming", LocalDateTime.now().plusDays(10), 1);
+        eventService.getEventById(old.getId());
+        double registrationsBefore = moved("event_registrations");
+
+        int archived = archiver.archiveBefore(LocalDateTime.now().minusDays(90));
+
+        assertThat(archived).isEqualTo(3);
+        assertThat(eventRepository.findAll()).extracting(Event::getId)
+                .containsExactlyInAnyOrder(recent.getId(), upcoming.getId());
+        assertThat(registrationRepository.count()).isEqualTo(2);
+        assertThat(moved("event_registrations") - registrationsBefore).isEqualTo(5);
+        assertThat(meterRegistry.find("app.archive.duration").timer().count()).isPositive();
+        // The cached copy went with it
+        assertThat(eventService.getEventById(old.getId())).isEmpty();
+
+        ResponseEntity<List<ArchivedRegistration>> registrations = archiveController.getArchivedRegistrations(old.getId());
+        assertThat(registrations.getBody()).hasSize(3)
+                .allSatisfy(r -> assertThat(r.getEventTitle()).isEqualTo("Old"));
+        assertThat(registrations.getHeaders().getCacheControl()).contains("max-age=86400");
+        assertThat(archiveController.getArchivedEvent(empty.getId()).getBody().getTitle()).isEqualTo("Empty");
+        assertThat(archiveController.getArchivedEventsByOrganizer(organizer.getId()).getBody())
+                .extracting(e -> e.getId()).containsExactly(empty.getId(), old.getId(), older.getId());
+        assertThat(archiveController.getArchivedEvent(recent.getId()).getStatusCode().value()).isEqualTo(404);
+
+        // Nothing left to move
+        assertThat(archiver.archiveBefore(LocalDateTime.now().minusDays(90))).isZero();
+    }
+
+    private double moved(String table) {
+        var counter = meterRegistry.find("app.archive.rows").tag("table", table).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    // Registration refuses past events, so attendees are written directly
+    private Event create(String title, LocalDateTime date, int attendees) {
+        Event saved = eventService.createEvent(TestData.newEvent(title, organizer.getId(), date, 10));
+        for (int i = 0; i < attendees; i++) {
+            User attendee = testData.saveUser(title.toLowerCase() + i);
+            EventRegistration registration = new EventRegistration();
+            registration.setEventId(saved.getId());
+            registration.setUserId(attendee.getId());
+            registration.setEventTitle(title);
+            registrationRepository.save(registration);
+        }
+        return saved;
+    }
+}
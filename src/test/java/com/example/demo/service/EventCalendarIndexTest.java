@@ -0,0 +1,104 @@
+package com.example.demo.service;
+
+import com.example.demo.config.QueryCountInspector;
+import com.example.demo.dto.EventSummary;
+import com.example.demo.model.Event;
+import com.example.demo.model.User;
+import com.example.demo.support.IntegrationTest;
+import com.example.demo.support.TestData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@IntegrationTest
+public class EventCalendarIndexTest {
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventCalendarIndex calendarIndex;
+
+    @Autowired
+    private TestData testData;
+
+    private final LocalDateTime base = LocalDateTime.now().plusDays(30).truncatedTo(ChronoUnit.DAYS);
+    private User organizer;
+
+    @BeforeEach
+    void setUp() {
+        organizer = testData.saveUser("calendar");
+    }
+
+    @AfterEach
+    void tearDown() {
+        testData.cleanUp();
+    }
+
+    @Test
+    void testRangesAndUpcomingComeFromMemoryAndFollowWrites() {
+        Event monday = create("Monday", base);
+        Event wednesday = create("Wednesday", base.plusDays(2));
+        Event sameTime = create("Also Wednesday", base.plusDays(2));
+        create("Next Monday", base.plusDays(7));
+
+        QueryCountInspector.reset();
+        List<EventSummary> week = eventService.getEventsBetween(base, base.plusDays(7), null);
+        List<EventSummary> upcoming = eventService.getUpcomingEvents(3);
+        int statements = QueryCountInspector.current();
+
+        // [from, to): next Monday starts exactly at the end of the range
+        assertThat(week).extracting(EventSummary::id)
+                .containsExactly(monday.getId(), wednesday.getId(), sameTime.getId());
+        assertThat(upcoming).extracting(EventSummary::id)
+                .containsExactly(monday.getId(), wednesday.getId(), sameTime.getId());
+        assertThat(statements).isZero();
+
+        Event moved = new Event();
+        moved.setTitle("Monday, moved");
+        moved.setEventDate(base.plusDays(9));
+        moved.setLocation("Hall");
+        moved.setCapacity(10);
+        eventService.updateEvent(monday.getId(), moved);
+        eventService.deleteEvent(wednesday.getId());
+
+        assertThat(eventService.getEventsBetween(base, base.plusDays(10), 10)).extracting(EventSummary::title)
+                .containsExactly("Also Wednesday", "Next Monday", "Monday, moved");
+        assertThatThrownBy(() -> eventService.getEventsBetween(base, base, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testAgedOutPartOfARangeIsReadFromTheDatabase() {
+        Event early = create("Early", base);
+        Event late = create("Late", base.plusDays(3));
+        int indexed = calendarIndex.size();
+
+        assertThat(calendarIndex.ageOut(base.plusDays(1))).isGreaterThanOrEqualTo(1);
+        assertThat(calendarIndex.size()).isLessThan(indexed);
+
+        QueryCountInspector.reset();
+        List<EventSummary> range = eventService.getEventsBetween(base.minusDays(1), base.plusDays(5), null);
+        int withPast = QueryCountInspector.current();
+        QueryCountInspector.reset();
+        List<EventSummary> future = eventService.getEventsBetween(base.plusDays(2), base.plusDays(5), null);
+        int futureOnly = QueryCountInspector.current();
+
+        assertThat(range).extracting(EventSummary::id).containsExactly(early.getId(), late.getId());
+        assertThat(withPast).isEqualTo(1);
+        assertThat(future).extracting(EventSummary::id).containsExactly(late.getId());
+        assertThat(futureOnly).isZero();
+    }
+
+    private Event create(String title, LocalDateTime date) {
+        return eventService.createEvent(TestData.newEvent(title, organizer.getId(), date, 10));
+    }
+}
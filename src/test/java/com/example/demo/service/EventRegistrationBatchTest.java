@@ -0,0 +1,92 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.BatchRegistrationResult;
+import com.example.demo.model.Event;
+import com.example.demo.model.User;
+import com.example.demo.repository.EventRegistrationRepository;
+import com.example.demo.repository.EventRepository;
+import com.example.demo.support.IntegrationTest;
+import com.example.demo.support.TestData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@IntegrationTest
+public class EventRegistrationBatchTest {
+
+    @Autowired
+    private EventRegistrationService registrationService;
+
+    @Autowired
+    private EventRegistrationRepository registrationRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private TestData testData;
+
+    private User organizer;
+    private Event event;
+    private final List<Long> team = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        organizer = testData.saveUser("organizer");
+        event = testData.saveEvent("Team Offsite", organizer.getId(), LocalDateTime.now().plusDays(14), 120);
+
+        testData.saveUsers("member", 130).forEach(member -> team.add(member.getId()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        testData.cleanUp();
+    }
+
+    @Test
+    void testBatchReportsPerUserOutcome() {
+        registrationService.registerUserForEvent(event.getId(), team.get(0));
+
+        List<Long> request = new ArrayList<>(team);
+        request.add(team.get(1));            // duplicate in the request itself
+        request.add(organizer.getId());
+        request.add(-1L);
+
+        List<BatchRegistrationResult> results = registrationService.registerUsersForEvent(event.getId(), request);
+
+        assertThat(results).hasSize(132);
+        assertThat(statusOf(results, team.get(0))).isEqualTo(BatchRegistrationResult.ALREADY_REGISTERED);
+        assertThat(statusOf(results, organizer.getId())).isEqualTo(BatchRegistrationResult.ORGANIZER);
+        assertThat(statusOf(results, -1L)).isEqualTo(BatchRegistrationResult.USER_NOT_FOUND);
+        // 119 seats were left; the requested order decides who gets them
+        assertThat(results).filteredOn(r -> BatchRegistrationResult.REGISTERED.equals(r.status())).hasSize(119)
+                .allSatisfy(r -> assertThat(r.registrationId()).isNotNull());
+        assertThat(statusOf(results, team.get(119))).isEqualTo(BatchRegistrationResult.REGISTERED);
+        assertThat(statusOf(results, team.get(120))).isEqualTo(BatchRegistrationResult.WAITLISTED);
+
+        assertThat(eventRepository.findById(event.getId()).get().getConfirmedCount()).isEqualTo(120);
+        assertThat(registrationRepository.countByEventIdAndStatus(event.getId(), "CONFIRMED")).isEqualTo(120);
+        assertThat(registrationRepository.countByEventIdAndStatus(event.getId(), "PENDING")).isEqualTo(10);
+    }
+
+    @Test
+    void testBatchOnFullEventWaitlistsEveryone() {
+        List<BatchRegistrationResult> first = registrationService.registerUsersForEvent(event.getId(), team.subList(0, 120));
+        List<BatchRegistrationResult> second = registrationService.registerUsersForEvent(event.getId(), team.subList(120, 130));
+
+        assertThat(first).allSatisfy(r -> assertThat(r.status()).isEqualTo(BatchRegistrationResult.REGISTERED));
+        assertThat(second).allSatisfy(r -> assertThat(r.status()).isEqualTo(BatchRegistrationResult.WAITLISTED));
+        assertThat(eventRepository.findById(event.getId()).get().getConfirmedCount()).isEqualTo(120);
+    }
+
+    private String statusOf(List<BatchRegistrationResult> results, Long userId) {
+        return results.stream().filter(r -> r.userId().equals(userId)).findFirst().orElseThrow().status();
+    }
+}
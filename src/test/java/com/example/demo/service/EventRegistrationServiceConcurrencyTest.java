@@ -0,0 +1,167 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.RegistrationStats;
+import com.example.demo.model.Event;
+import com.example.demo.model.User;
+import com.example.demo.repository.EventRegistrationRepository;
+import com.example.demo.repository.EventRepository;
+import com.example.demo.support.IntegrationTest;
+import com.example.demo.support.TestData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@IntegrationTest
+public class EventRegistrationServiceConcurrencyTest {
+
+    private static final int PARALLEL_REGISTRATIONS = 1200;
+    private static final int CAPACITY = 100;
+
+    @Autowired
+    private EventRegistrationService registrationService;
+
+    @Autowired
+    private EventRegistrationRepository registrationRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private RegistrationCountReconciler reconciler;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TestData testData;
+
+    // More workers than connections only measures Hikari's connection timeout, not the seat logic
+    @Value("${spring.datasource.hikari.maximum-pool-size}")
+    private int workers;
+
+    private Event event;
+    private List<User> attendees;
+
+    @BeforeEach
+    void setUp() {
+        User organizer = testData.saveUser("organizer");
+        event = testData.saveEvent("Launch Party", organizer.getId(), LocalDateTime.now().plusDays(30), CAPACITY);
+        attendees = testData.saveUsers("attendee", PARALLEL_REGISTRATIONS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        testData.cleanUp();
+    }
+
+    @Test
+    void testParallelRegistrationsNeverOversell() throws InterruptedException {
+        AtomicInteger admitted = new AtomicInteger();
+        AtomicInteger waitlisted = new AtomicInteger();
+
+        runInParallel(attendees.size(), i -> {
+            String status = registrationService.registerUserForEvent(event.getId(), attendees.get(i).getId()).getStatus();
+            ("CONFIRMED".equals(status) ? admitted : waitlisted).incrementAndGet();
+        });
+
+        assertThat(admitted.get()).isEqualTo(CAPACITY);
+        assertThat(waitlisted.get()).isEqualTo(PARALLEL_REGISTRATIONS - CAPACITY);
+        assertThat(registrationRepository.countByEventIdAndStatus(event.getId(), "CONFIRMED")).isEqualTo(CAPACITY);
+        assertThat(eventRepository.findById(event.getId()).get().getConfirmedCount()).isEqualTo(CAPACITY);
+    }
+
+    @Test
+    void testParallelDuplicateRegistrationsAdmitOnce() throws InterruptedException {
+        Long userId = attendees.get(0).getId();
+        AtomicInteger admitted = new AtomicInteger();
+        Queue<String> rejections = new ConcurrentLinkedQueue<>();
+
+        runInParallel(50, i -> {
+            try {
+                registrationService.registerUserForEvent(event.getId(), userId);
+                admitted.incrementAndGet();
+            } catch (RuntimeException e) {
+                rejections.add(String.valueOf(e.getMessage()));
+            }
+        });
+
+        assertThat(admitted.get()).isEqualTo(1);
+        // Losers of the race past the exists check get the same answer, not a constraint violation
+        assertThat(rejections).hasSize(49).containsOnly("User is already registered for this event");
+        assertThat(eventRepository.findById(event.getId()).get().getConfirmedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testCancellationFreesSeat() {
+        for (int i = 0; i < CAPACITY; i++) {
+            registrationService.registerUserForEvent(event.getId(), attendees.get(i).getId());
+        }
+
+        registrationService.cancelRegistration(event.getId(), attendees.get(0).getId());
+        registrationService.registerUserForEvent(event.getId(), attendees.get(CAPACITY).getId());
+
+        assertThat(eventRepository.findById(event.getId()).get().getConfirmedCount()).isEqualTo(CAPACITY);
+    }
+
+    @Test
+    void testReconcilerRepairsDriftedCounters() {
+        for (int i = 0; i < 5; i++) {
+            registrationService.registerUserForEvent(event.getId(), attendees.get(i).getId());
+        }
+        registrationService.cancelRegistration(event.getId(), attendees.get(0).getId());
+        jdbcTemplate.update("UPDATE events SET confirmed_count = 42, cancelled_count = 0 WHERE id = ?", event.getId());
+        assertThat(eventService.getEventById(event.getId()).get().getConfirmedCount()).isEqualTo(42);
+
+        assertThat(reconciler.reconcile()).isEqualTo(1);
+
+        assertThat(registrationService.getRegistrationStats(event.getId()))
+                .isEqualTo(new RegistrationStats(4, 1, CAPACITY - 4));
+        // The drifted copy cached above is gone
+        assertThat(eventService.getEventById(event.getId()).get().getConfirmedCount()).isEqualTo(4);
+        assertThat(reconciler.reconcile()).isZero();
+    }
+
+    private void runInParallel(int tasks, java.util.function.IntConsumer task) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(tasks);
+        Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        for (int i = 0; i < tasks; i++) {
+            int index = i;
+            executor.submit(() -> {
+                try {
+                    start.await();
+                    task.accept(index);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (RuntimeException e) {
+                    failures.add(e);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        start.countDown();
+        assertThat(done.await(2, TimeUnit.MINUTES)).isTrue();
+        executor.shutdown();
+        assertThat(failures).isEmpty();
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.EventSearchResult;
+import com.example.demo.dto.EventSummary;
+import com.example.demo.model.Event;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EventSearchIndexTest {
+
+    private EventSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new EventSearchIndex();
+        index.index(event(1L, "Java Conference", "Berlin", "Talks about the JVM"));
+        index.index(event(2L, "Jazz Night", "Berlin Kreuzberg", "Live music and java coffee"));
+        index.index(event(3L, "Spring Workshop", "Munich", "Hands-on Spring Boot, bring Java"));
+    }
+
+    @Test
+    void testPrefixMatchesTitleAndLocation() {
+        assertThat(index.search("conf", 0, 10).items()).extracting(EventSummary::id).containsExactly(1L);
+        assertThat(index.search("kreuz", 0, 10).items()).extracting(EventSummary::id).containsExactly(2L);
+    }
+
+    @Test
+    void testDescriptionMatchesWholeWordsOnly() {
+        assertThat(index.search("coffee", 0, 10).items()).extracting(EventSummary::id).containsExactly(2L);
+        assertThat(index.search("coff", 0, 10).total()).isZero();
+    }
+
+    @Test
+    void testAllWordsMustMatchAndTitleRanksFirst() {
+        EventSearchResult result = index.search("java berlin", 0, 10);
+
+        assertThat(result.total()).isEqualTo(2);
+        assertThat(result.items()).extracting(EventSummary::id).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void testPagination() {
+        EventSearchResult first = index.search("java", 0, 2);
+        EventSearchResult second = index.search("java", 1, 2);
+
+        assertThat(first.total()).isEqualTo(3);
+        assertThat(first.items()).extracting(EventSummary::id).containsExactly(1L, 2L);
+        assertThat(second.items()).extracting(EventSummary::id).containsExactly(3L);
+    }
+
+    @Test
+    void testPagesPastTheEndAreEmpty() {
+        assertThat(index.search("java", 5, 2).items()).isEmpty();
+        // page * size overflows an int
+        EventSearchResult far = index.search("java", Integer.MAX_VALUE / 2, 100);
+        assertThat(far.items()).isEmpty();
+        assertThat(far.total()).isEqualTo(3);
+    }
+
+    @Test
+    void testFieldSearchMatchesSubstringsIgnoringCase() {
+        assertThat(index.containingIds("java", EventSearchIndex.Field.TITLE)).containsExactly(1L);
+        assertThat(index.containingIds("BERLIN", EventSearchIndex.Field.LOCATION)).containsExactly(1L, 2L);
+        // Infix and one-character queries, which the ranked search cannot answer
+        assertThat(index.containingIds("ference", EventSearchIndex.Field.TITLE)).containsExactly(1L);
+        assertThat(index.containingIds("z", EventSearchIndex.Field.TITLE)).containsExactly(2L);
+        assertThat(index.containingIds("a conf", EventSearchIndex.Field.TITLE)).containsExactly(1L);
+        // No loose match on the first 12 characters of a long query
+        assertThat(index.containingIds("Conferences and more", EventSearchIndex.Field.TITLE)).isEmpty();
+    }
+
+    @Test
+    void testUpdateAndRemoveKeepIndexCurrent() {
+        index.index(event(1L, "Kotlin Conference", "Hamburg", ""));
+        assertThat(index.search("java", 0, 10).items()).extracting(EventSummary::id).containsExactly(2L, 3L);
+        assertThat(index.search("hamburg", 0, 10).items()).extracting(EventSummary::id).containsExactly(1L);
+
+        index.remove(1L);
+        assertThat(index.search("kotlin", 0, 10).total()).isZero();
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    void testShortOrBlankQueriesMatchNothing() {
+        assertThat(index.search("j", 0, 10).total()).isZero();
+        assertThat(index.search("  ", 0, 10).total()).isZero();
+    }
+
+    private Event event(Long id, String title, String location, String description) {
+        Event event = new Event();
+        event.setId(id);
+        event.setTitle(title);
+        event.setLocation(location);
+        event.setDescription(description);
+        event.setEventDate(LocalDateTime.of(2030, 1, 1, 10, 0));
+        event.setCapacity(100);
+        event.setOrganizerId(1L);
+        return event;
+    }
+}
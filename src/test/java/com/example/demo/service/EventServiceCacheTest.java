@@ -0,0 +1,116 @@
+package com.example.demo.service;
+
+import com.example.demo.model.Event;
+import com.example.demo.model.User;
+import com.example.demo.repository.EventRepository;
+import com.example.demo.support.IntegrationTest;
+import com.example.demo.support.TestData;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@IntegrationTest
+public class EventServiceCacheTest {
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventRegistrationService registrationService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private TestData testData;
+
+    private User organizer;
+    private final List<Event> events = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        organizer = testData.saveUser("organizer");
+        for (int i = 0; i < 50; i++) {
+            events.add(eventRepository.save(newEvent("Event " + i)));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        testData.cleanUp();
+    }
+
+    // Detail-page style traffic: 95% reads over 50 hot events, 5% admin edits
+    @Test
+    void testReadHeavyMixMostlyAvoidsTheDatabase() {
+        CacheStats before = eventService.getEventCacheStats();
+        Random random = new Random(42);
+        int reads = 0;
+        for (int i = 0; i < 5_000; i++) {
+            Event target = events.get(random.nextInt(events.size()));
+            if (random.nextInt(100) < 5) {
+                Event details = newEvent(target.getTitle());
+                details.setDescription("edit " + i);
+                eventService.updateEvent(target.getId(), details);
+            } else {
+                assertThat(eventService.getEventById(target.getId())).isPresent();
+                reads++;
+            }
+        }
+        CacheStats stats = eventService.getEventCacheStats().minus(before);
+
+        assertThat(stats.loadCount()).isLessThan(reads / 5);
+        // Misses are the 50 cold reads plus at most one per edit
+        assertThat(stats.hitRate()).isGreaterThan(0.9);
+    }
+
+    @Test
+    void testUpdateInvalidatesCachedEventAndOrganizerList() {
+        Event event = events.get(0);
+        assertThat(eventService.getEventById(event.getId()).get().getTitle()).isEqualTo("Event 0");
+        assertThat(eventService.getEventsByOrganizer(organizer.getId())).hasSize(50);
+
+        Event details = newEvent("Renamed");
+        eventService.updateEvent(event.getId(), details);
+
+        assertThat(eventService.getEventById(event.getId()).get().getTitle()).isEqualTo("Renamed");
+        assertThat(eventService.getEventsByOrganizer(organizer.getId()))
+                .extracting(Event::getTitle).contains("Renamed");
+    }
+
+    @Test
+    void testDeleteAndCreateInvalidateOrganizerList() {
+        assertThat(eventService.getEventsByOrganizer(organizer.getId())).hasSize(50);
+
+        eventService.deleteEvent(events.get(0).getId());
+        assertThat(eventService.getEventById(events.get(0).getId())).isEmpty();
+        assertThat(eventService.getEventsByOrganizer(organizer.getId())).hasSize(49);
+
+        eventService.createEvent(newEvent("New"));
+        assertThat(eventService.getEventsByOrganizer(organizer.getId())).hasSize(50);
+    }
+
+    @Test
+    void testRegistrationRefreshesCachedCounters() {
+        Event event = events.get(0);
+        User attendee = testData.saveUser("attendee");
+        assertThat(eventService.getEventById(event.getId()).get().getConfirmedCount()).isZero();
+
+        registrationService.registerUserForEvent(event.getId(), attendee.getId());
+
+        assertThat(eventService.getEventById(event.getId()).get().getConfirmedCount()).isEqualTo(1);
+    }
+
+    private Event newEvent(String title) {
+        return TestData.newEvent(title, organizer.getId(), LocalDateTime.now().plusDays(7), 100);
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.demo.service;
+
+import com.example.demo.exception.ConflictException;
+import com.example.demo.model.Event;
+import com.example.demo.model.User;
+import com.example.demo.repository.EventRepository;
+import com.example.demo.support.IntegrationTest;
+import com.example.demo.support.TestData;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@IntegrationTest
+public class OptimisticLockingTest {
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventRegistrationService registrationService;
+
+    @Autowired
+    private ConflictRetrier conflictRetrier;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private TestData testData;
+
+    private Event event;
+    private User organizer;
+
+    @BeforeEach
+    void setUp() {
+        organizer = testData.saveUser("organizer");
+        event = testData.saveEvent("Versioned", organizer.getId(), LocalDateTime.now().plusDays(7), 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        testData.cleanUp();
+    }
+
+    @Test
+    void testStaleClientVersionIsRejected() {
+        Event first = edit("First edit", 10);
+        first.setVersion(event.getVersion());
+        eventService.updateEvent(event.getId(), first);
+
+        // Still carries the version read before the first edit
+        Event stale = edit("Second edit", 10);
+        stale.setVersion(event.getVersion());
+
+        assertThatThrownBy(() -> conflictRetrier.retry("test.update", () -> eventService.updateEvent(event.getId(), stale)))
+                .isInstanceOf(ConflictException.class);
+        assertThat(eventRepository.findById(event.getId()).orElseThrow().getTitle()).isEqualTo("First edit");
+    }
+
+    @Test
+    void testConcurrentEditsAreRetriedAndNoneIsLost() throws Exception {
+        int writers = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Event>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(writers)) {
+            for (int i = 0; i < writers; i++) {
+                Event details = edit("Edit " + i, 10 + i);
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return conflictRetrier.retry("test.concurrent", () -> eventService.updateEvent(event.getId(), details));
+                }));
+            }
+            start.countDown();
+            int succeeded = 0;
+            for (Future<Event> result : results) {
+                try {
+                    result.get();
+                    succeeded++;
+                } catch (Exception e) {
+                    assertThat(e.getCause()).isInstanceOf(ConflictException.class);
+                }
+            }
+
+            // Every successful write bumped the version exactly once
+            Event stored = eventRepository.findById(event.getId()).orElseThrow();
+            assertThat(stored.getVersion()).isEqualTo(event.getVersion() + succeeded);
+            assertThat(succeeded).isGreaterThan(0);
+        }
+    }
+
+    @Test
+    void testCapacityCannotDropBelowConfirmedRegistrations() {
+        for (int i = 0; i < 3; i++) {
+            User attendee = testData.saveUser("attendee" + i);
+            registrationService.registerUserForEvent(event.getId(), attendee.getId());
+        }
+
+        assertThatThrownBy(() -> eventService.updateEvent(event.getId(), edit("Smaller", 2)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(eventRepository.findById(event.getId()).orElseThrow().getCapacity()).isEqualTo(10);
+    }
+
+    @Test
+    void testConcurrentCancellationsReleaseOneSeat() throws Exception {
+        User attendee = testData.saveUser("attendee");
+        registrationService.registerUserForEvent(event.getId(), attendee.getId());
+
+        CountDownLatch start = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    conflictRetrier.retry("test.cancel", () -> registrationService.cancelRegistration(event.getId(), attendee.getId()));
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        Event stored = eventRepository.findById(event.getId()).orElseThrow();
+        assertThat(stored.getConfirmedCount()).isZero();
+        assertThat(stored.getCancelledCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testRetriesAreCountedAndBounded() {
+        AtomicInteger calls = new AtomicInteger();
+        String result = conflictRetrier.retry("test.metrics", () -> {
+            if (calls.incrementAndGet() < 3) {
+                throw new ObjectOptimisticLockingFailureException(Event.class, event.getId());
+            }
+            return "done";
+        });
+
+        assertThat(result).isEqualTo("done");
+        assertThat(meterRegistry.counter("app.optimistic.conflicts", "operation", "test.metrics").count()).isEqualTo(2);
+        assertThat(meterRegistry.counter("app.optimistic.retries", "operation", "test.metrics").count()).isEqualTo(2);
+
+        assertThatThrownBy(() -> conflictRetrier.retry("test.exhausted", () -> {
+            throw new ObjectOptimisticLockingFailureException(Event.class, event.getId());
+        })).isInstanceOf(ConflictException.class);
+        assertThat(meterRegistry.counter("app.optimistic.exhausted", "operation", "test.exhausted").count()).isEqualTo(1);
+    }
+
+    private Event edit(String title, int capacity) {
+        Event details = new Event();
+        details.setTitle(title);
+        details.setEventDate(event.getEventDate());
+        details.setLocation(event.getLocation());
+        details.setCapacity(capacity);
+        return details;
+    }
+}
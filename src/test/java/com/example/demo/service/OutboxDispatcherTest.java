@@ -0,0 +1,131 @@
+package com.example.demo.service;
+
+import com.example.demo.model.Event;
+import com.example.demo.model.OutboxMessage;
+import com.example.demo.model.User;
+import com.example.demo.repository.OutboxMessageRepository;
+import com.example.demo.support.IntegrationTest;
+import com.example.demo.support.RecordingOutboxHandler;
+import com.example.demo.support.TestData;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+// The shared context's poller is off (max-attempts=3, no backoff); the tests dispatch by hand
+@IntegrationTest
+@ExtendWith(OutputCaptureExtension.class)
+public class OutboxDispatcherTest {
+
+    @Autowired
+    private OutboxDispatcher dispatcher;
+
+    @Autowired
+    private RecordingOutboxHandler handler;
+
+    @Autowired
+    private EventRegistrationService registrationService;
+
+    @Autowired
+    private OutboxMessageRepository outboxRepository;
+
+    @Autowired
+    private TestData testData;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Event event;
+    private User attendee;
+
+    @BeforeEach
+    void setUp() {
+        // Other tests register without dispatching
+        outboxRepository.deleteAllInBatch();
+        User organizer = testData.saveUser("organizer");
+        attendee = testData.saveUser("attendee");
+        event = testData.saveEvent("Outbox", organizer.getId(), LocalDateTime.now().plusDays(1), 1);
+        handler.reset();
+    }
+
+    @AfterEach
+    void tearDown() {
+        testData.cleanUp();
+    }
+
+    @Test
+    void testMessageIsWrittenWithTheRegistrationAndDeliveredOnce(CapturedOutput output) {
+        registrationService.registerUserForEvent(event.getId(), attendee.getId());
+        assertThatThrownBy(() -> registrationService.registerUserForEvent(event.getId(), attendee.getId()))
+                .hasMessageContaining("already registered");
+
+        // The rejected duplicate wrote nothing
+        assertThat(outboxRepository.count()).isEqualTo(1);
+
+        dispatcher.dispatch();
+
+        assertThat(handler.received()).singleElement().satisfies(message -> {
+            assertThat(message.getType()).isEqualTo(OutboxService.REGISTRATION_CONFIRMED);
+            assertThat(message.getPayload()).contains("\"userEmail\":\"attendee@example.com\"");
+        });
+        assertThat(outboxRepository.count()).isZero();
+        // The logging handler saw it too, by ids only
+        await().atMost(5, TimeUnit.SECONDS).until(() -> output.getOut().contains("outbox " + OutboxService.REGISTRATION_CONFIRMED));
+        assertThat(output.getOut()).contains("event " + event.getId() + " user " + attendee.getId())
+                .doesNotContain("attendee@example.com");
+    }
+
+    @Test
+    void testCancellationPromotionAndWaitlistAreAllRecorded() {
+        User second = testData.saveUser("second");
+        registrationService.registerUserForEvent(event.getId(), attendee.getId());
+        registrationService.registerUserForEvent(event.getId(), second.getId());
+        registrationService.cancelRegistration(event.getId(), attendee.getId());
+
+        dispatcher.dispatch();
+
+        assertThat(handler.received()).extracting(OutboxMessage::getType).containsExactly(
+                OutboxService.REGISTRATION_CONFIRMED,
+                OutboxService.REGISTRATION_WAITLISTED,
+                OutboxService.REGISTRATION_PROMOTED,
+                OutboxService.REGISTRATION_CANCELLED);
+    }
+
+    @Test
+    void testFailedDeliveryIsRetriedThenParked() {
+        registrationService.registerUserForEvent(event.getId(), attendee.getId());
+        handler.failNext(1);
+
+        dispatcher.dispatch();
+        OutboxMessage retried = outboxRepository.findAll().get(0);
+        assertThat(retried.getAttempts()).isEqualTo(1);
+        assertThat(retried.getLastError()).contains("mail server down");
+
+        dispatcher.dispatch();
+        assertThat(handler.received()).hasSize(1);
+        assertThat(outboxRepository.count()).isZero();
+
+        double failedBefore = meterRegistry.counter("app.outbox.failed").count();
+        User second = testData.saveUser("second");
+        registrationService.registerUserForEvent(event.getId(), second.getId());
+        handler.failNext(Integer.MAX_VALUE);
+        for (int i = 0; i < 3; i++) {
+            dispatcher.dispatch();
+        }
+        assertThat(outboxRepository.findAll()).singleElement()
+                .satisfies(message -> assertThat(message.getStatus()).isEqualTo(OutboxMessage.FAILED));
+        assertThat(meterRegistry.counter("app.outbox.failed").count()).isEqualTo(failedBefore + 1);
+        assertThat(meterRegistry.get("app.outbox.pending").gauge().value()).isZero();
+    }
+}
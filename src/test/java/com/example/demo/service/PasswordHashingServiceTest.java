@@ -0,0 +1,56 @@
+package com.example.demo.service;
+
+import com.example.demo.exception.TooManyRequestsException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class PasswordHashingServiceTest {
+
+    private PasswordHashingService hashing;
+
+    @BeforeEach
+    void setUp() {
+        hashing = new PasswordHashingService();
+        ReflectionTestUtils.setField(hashing, "passwordEncoder", new BCryptPasswordEncoder(10));
+        ReflectionTestUtils.setField(hashing, "threads", 1);
+        ReflectionTestUtils.setField(hashing, "queueCapacity", 2);
+        hashing.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        hashing.stop();
+    }
+
+    @Test
+    void testEncodeAndMatchOffTheCallingThread() {
+        String hash = PasswordHashingService.await(hashing.encode("Secret@123"));
+
+        assertThat(PasswordHashingService.await(hashing.matches("Secret@123", hash))).isTrue();
+        assertThat(PasswordHashingService.await(hashing.matches("wrong", hash))).isFalse();
+    }
+
+    @Test
+    void testSaturatedPoolRejectsInsteadOfQueueing() {
+        List<CompletableFuture<String>> futures = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            futures.add(hashing.encode("Secret@123"));
+        }
+
+        // One running plus two queued fit; the rest fail fast
+        long rejected = futures.stream().filter(CompletableFuture::isCompletedExceptionally).count();
+        assertThat(rejected).isGreaterThanOrEqualTo(7);
+        CompletableFuture<String> last = futures.get(futures.size() - 1);
+        assertThatThrownBy(() -> PasswordHashingService.await(last)).isInstanceOf(TooManyRequestsException.class);
+    }
+}
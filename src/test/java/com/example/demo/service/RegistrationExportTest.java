@@ -0,0 +1,117 @@
+package com.example.demo.service;
+
+import com.example.demo.support.IntegrationTest;
+import com.example.demo.support.TestData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Exports a large seeded dataset. Row count defaults to 100k; the full-size run is
+ * mvn test -Dtest=RegistrationExportTest -Dexport.rows=1000000 -DargLine=-Xmx512m
+ * (the in-memory H2 database itself holds the 1M rows on the same heap).
+ */
+@IntegrationTest
+public class RegistrationExportTest {
+
+    private static final int ROWS = Integer.getInteger("export.rows", 100_000);
+    private static final int EVENTS = 10;
+    private static final long ORGANIZER_ID = 9_000L;
+
+    @Autowired
+    private EventRegistrationService registrationService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TestData testData;
+
+    @BeforeEach
+    void setUp() {
+        List<Long> eventIds = new ArrayList<>();
+        for (int i = 0; i < EVENTS; i++) {
+            eventIds.add(testData.saveEvent("Conference, day " + i, ORGANIZER_ID,
+                    LocalDateTime.now().plusDays(10), ROWS).getId());
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batch = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            batch.add(new Object[] {eventIds.get(i % EVENTS), (long) i, now, "CONFIRMED",
+                    "User \"" + i + "\"", "user" + i + "@example.com", "Conference, day " + (i % EVENTS)});
+            if (batch.size() == 5_000 || i == ROWS - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO event_registrations " +
+                        "(id, event_id, user_id, registration_date, status, user_name, user_email, event_title) " +
+                        "VALUES (NEXT VALUE FOR event_registrations_seq, ?, ?, ?, ?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        // TRUNCATE avoids building an undo log for every seeded row
+        jdbcTemplate.execute("TRUNCATE TABLE event_registrations");
+        testData.cleanUp();
+    }
+
+    @Test
+    void testNdjsonExportStreamsEveryRow() throws IOException {
+        LineCountingOutputStream out = new LineCountingOutputStream();
+
+        long exported = registrationService.exportRegistrationsForOrganizerEvents(ORGANIZER_ID, "ndjson", out);
+
+        assertThat(exported).isEqualTo(ROWS);
+        assertThat(out.lines).isEqualTo(ROWS);
+    }
+
+    @Test
+    void testCsvExportQuotesFieldsAndWritesHeader() throws IOException {
+        LineCountingOutputStream out = new LineCountingOutputStream();
+
+        long exported = registrationService.exportRegistrationsForOrganizerEvents(ORGANIZER_ID, "csv", out);
+
+        assertThat(exported).isEqualTo(ROWS);
+        assertThat(out.lines).isEqualTo(ROWS + 1);
+        String head = out.head.toString();
+        assertThat(head).startsWith("id,eventId,eventTitle,userId,userName,userEmail,status,registrationDate\n");
+        assertThat(head).contains(",\"Conference, day 0\",0,\"User \"\"0\"\"\",user0@example.com,CONFIRMED,");
+    }
+
+    @Test
+    void testExportForUnknownOrganizerIsEmpty() throws IOException {
+        LineCountingOutputStream out = new LineCountingOutputStream();
+
+        assertThat(registrationService.exportRegistrationsForOrganizerEvents(-1L, "ndjson", out)).isZero();
+        assertThat(out.lines).isZero();
+    }
+
+    // Counts newlines and keeps only the first few KB, so the test itself holds no rows
+    private static class LineCountingOutputStream extends OutputStream {
+        private final ByteArrayOutputStream head = new ByteArrayOutputStream();
+        private long lines;
+
+        @Override
+        public void write(int b) {
+            if (b == '\n') {
+                lines++;
+            }
+            if (head.size() < 4096) {
+                head.write(b);
+            }
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.example.demo.service;
+
+import com.example.demo.controller.EventRegistrationController;
+import com.example.demo.model.Event;
+import com.example.demo.model.EventRegistration;
+import com.example.demo.model.Role;
+import com.example.demo.model.User;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.support.IntegrationTest;
+import com.example.demo.support.TestData;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static com.example.demo.support.TestData.newUser;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Statistics are global; the shared context keeps its background pollers from running statements mid-test
+@IntegrationTest
+public class RequestEntityLoaderTest {
+
+    @Autowired
+    private RequestEntityLoader entityLoader;
+
+    @Autowired
+    private EventRegistrationController registrationController;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TestData testData;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Statistics statistics;
+    private User organizer;
+    private User first;
+    private User second;
+    private Event event;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        User newOrganizer = newUser("Olga", "olga.loader@example.com");
+        newOrganizer.setRole(Role.ADMIN);
+        organizer = userRepository.save(newOrganizer);
+        first = userRepository.save(newUser("Finn", "finn.loader@example.com"));
+        second = userRepository.save(newUser("Sara", "sara.loader@example.com"));
+
+        event = eventService.createEvent(TestData.newEvent("Loader", organizer.getId(), LocalDateTime.now().plusDays(7), 1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        testData.cleanUp();
+    }
+
+    @Test
+    void testEachEntityIsReadAtMostOncePerRequest() {
+        startRequest();
+        statistics.clear();
+
+        entityLoader.findUser(first.getId());
+        entityLoader.findUser(first.getId());
+        Map<Long, User> batch = entityLoader.findUsers(List.of(first.getId(), second.getId(), -1L, second.getId()));
+        Map<Long, User> again = entityLoader.findUsers(List.of(second.getId(), -1L));
+        entityLoader.findEvent(event.getId());
+        entityLoader.findEvent(event.getId());
+
+        assertThat(batch).containsOnlyKeys(first.getId(), second.getId());
+        assertThat(again).containsOnlyKeys(second.getId());
+        // first by id, then second (and the unknown id) in one batch; nothing after that
+        assertThat(loads(User.class)).isEqualTo(2);
+        assertThat(loads(Event.class)).isEqualTo(1);
+
+        // A new request starts empty
+        startRequest();
+        entityLoader.findUser(first.getId());
+        assertThat(loads(User.class)).isEqualTo(3);
+    }
+
+    @Test
+    void testWithoutARequestEveryLookupGoesToTheDatabase() {
+        // Like a scheduled job, which has no request bound
+        RequestContextHolder.resetRequestAttributes();
+        statistics.clear();
+
+        entityLoader.findUser(first.getId());
+        entityLoader.findUser(first.getId());
+
+        assertThat(loads(User.class)).isEqualTo(2);
+    }
+
+    @Test
+    void testJoiningTheWaitlistReadsTheUserOnceAndNotTheRegistrationAgain() {
+        startRequest();
+        registrationController.registerForEvent(Map.of("eventId", event.getId(), "userId", first.getId()));
+
+        startRequest();
+        statistics.clear();
+        ResponseEntity<?> response = registrationController.registerForEvent(
+                Map.of("eventId", event.getId(), "userId", second.getId()));
+
+        assertThat(response.getStatusCode().value()).isEqualTo(202);
+        assertThat(((Map<?, ?>) response.getBody()).get("waitlistPosition")).isEqualTo(1L);
+        assertThat(loads(User.class)).isEqualTo(1);
+        // The position is counted from the saved registration instead of looking it up again
+        assertThat(loads(EventRegistration.class)).isZero();
+    }
+
+    @Test
+    void testCreatingAnEventAndRegisteringRunAFixedNumberOfStatements() throws Exception {
+        statistics.clear();
+        MvcResult created = mockMvc.perform(post("/api/events")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of(
+                                "organizerId", organizer.getId(),
+                                "title", "Counted",
+                                "eventDate", LocalDateTime.now().plusDays(3).withNano(0).toString(),
+                                "location", "Hall",
+                                "capacity", 10))))
+                .andExpect(status().isCreated())
+                .andReturn();
+        long eventId = objectMapper.readTree(created.getResponse().getContentAsString()).get("id").asLong();
+        // The organizer's principal is cached by setUp, so only the insert reaches the database
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1L);
+
+        // Fills the registration and outbox id pools (allocationSize 50) so no sequence call lands in the count;
+        // on a fresh sequence the first value only starts the pool, so it takes two registrations
+        User third = userRepository.save(newUser("Theo", "theo.loader@example.com"));
+        for (User warmUp : List.of(second, third)) {
+            ResponseEntity<?> warmed = registrationController.registerForEvent(
+                    Map.of("eventId", eventId, "userId", warmUp.getId()));
+            assertThat(warmed.getStatusCode().value()).isEqualTo(201);
+        }
+        statistics.clear();
+        mockMvc.perform(post("/api/registrations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("eventId", eventId, "userId", first.getId()))))
+                .andExpect(status().isCreated());
+        // Event, user, duplicate check, seat reservation, registration insert, outbox insert
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(6L);
+    }
+
+    private long loads(Class<?> entity) {
+        return statistics.getEntityStatistics(entity.getName()).getLoadCount();
+    }
+
+    private static void startRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+}
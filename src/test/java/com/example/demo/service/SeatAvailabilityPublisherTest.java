@@ -0,0 +1,164 @@
+package com.example.demo.service;
+
+import com.example.demo.model.Event;
+import com.example.demo.model.User;
+import com.example.demo.support.IntegrationTest;
+import com.example.demo.support.TestData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+@IntegrationTest
+public class SeatAvailabilityPublisherTest {
+
+    private static final int CAPACITY = 50;
+    private static final int REGISTRATIONS = 30;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private EventRegistrationService registrationService;
+
+    @Autowired
+    private SeatAvailabilityPublisher publisher;
+
+    @Autowired
+    private TestData testData;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+    private final List<CompletableFuture<?>> streams = new ArrayList<>();
+    private Event event;
+    private List<User> attendees;
+
+    @BeforeEach
+    void setUp() {
+        User organizer = testData.saveUser("organizer");
+        event = testData.saveEvent("Live", organizer.getId(), LocalDateTime.now().plusDays(2), CAPACITY);
+        attendees = testData.saveUsers("watcher", REGISTRATIONS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        streams.forEach(stream -> stream.cancel(true));
+        testData.cleanUp();
+    }
+
+    @Test
+    void testBurstOfRegistrationsIsCoalescedAndFannedOut() {
+        List<String> first = subscribe();
+        List<String> second = subscribe();
+        await().atMost(5, TimeUnit.SECONDS).until(() -> first.size() == 1 && second.size() == 1);
+        assertThat(first.get(0)).contains("\"remainingCapacity\":" + CAPACITY);
+
+        for (User attendee : attendees) {
+            registrationService.registerUserForEvent(event.getId(), attendee.getId());
+        }
+
+        String settled = "\"remainingCapacity\":" + (CAPACITY - REGISTRATIONS);
+        await().atMost(5, TimeUnit.SECONDS).until(() ->
+                first.get(first.size() - 1).contains(settled) && second.get(second.size() - 1).contains(settled));
+        // One push per flush tick at most, far fewer than one per registration
+        assertThat(first.size() - 1).isLessThan(REGISTRATIONS / 2);
+        assertThat(second).hasSameSizeAs(first);
+    }
+
+    @Test
+    void testStalledAndBrokenClientsDoNotHoldUpOthers() throws IOException {
+        Long elsewhere = -event.getId();
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> received = new CopyOnWriteArrayList<>();
+        // Takes the initial numbers, then hangs like a half-open connection
+        publisher.subscribe(List.of(event.getId()), new TestEmitter(1, () -> {
+            release.await();
+            return true;
+        }));
+        // Fails on its first update, after the two initial sends
+        publisher.subscribe(List.of(event.getId(), elsewhere), new TestEmitter(2, () -> false));
+        publisher.subscribe(List.of(event.getId()), new TestEmitter(0, () -> true) {
+            @Override
+            public void send(SseEventBuilder builder) throws IOException {
+                received.add(builder.build().stream().map(part -> part.getData().toString()).collect(Collectors.joining()));
+                super.send(builder);
+            }
+        });
+        assertThat(publisher.isWatched(elsewhere)).isTrue();
+
+        try {
+            // The second update only arrives if the flush tick outlived the stalled client
+            for (int i = 1; i <= 2; i++) {
+                registrationService.registerUserForEvent(event.getId(), attendees.get(i).getId());
+                String seats = "\"remainingCapacity\":" + (CAPACITY - i);
+                await().atMost(5, TimeUnit.SECONDS).until(() -> received.get(received.size() - 1).contains(seats));
+            }
+            // The broken client was dropped, and so was the entry it alone watched
+            assertThat(publisher.isWatched(elsewhere)).isFalse();
+        } finally {
+            release.countDown();
+        }
+    }
+
+    // Buffers the first sends like a fresh emitter, then stalls or fails as told
+    private static class TestEmitter extends SseEmitter {
+        private final AtomicInteger sends = new AtomicInteger();
+        private final int healthySends;
+        private final Callable<Boolean> afterwards;
+
+        TestEmitter(int healthySends, Callable<Boolean> afterwards) {
+            this.healthySends = healthySends;
+            this.afterwards = afterwards;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            try {
+                if (sends.incrementAndGet() > healthySends && !afterwards.call()) {
+                    throw new IOException("Broken pipe");
+                }
+            } catch (IOException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            super.send(builder);
+        }
+    }
+
+    // Collects the data lines of a seat stream in the background
+    private List<String> subscribe() {
+        List<String> payloads = new CopyOnWriteArrayList<>();
+        HttpRequest request = HttpRequest.newBuilder(
+                URI.create("http://localhost:" + port + "/api/registrations/stream?eventIds=" + event.getId())).build();
+        streams.add(http.sendAsync(request, HttpResponse.BodyHandlers.ofLines())
+                .thenAcceptAsync(response -> {
+                    try (Stream<String> lines = response.body()) {
+                        lines.filter(line -> line.startsWith("data:"))
+                                .forEach(line -> payloads.add(line.substring(5)));
+                    }
+                }));
+        return payloads;
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.demo.service;
+
+import com.example.demo.config.QueryCountInspector;
+import com.example.demo.controller.EventController;
+import com.example.demo.model.Event;
+import com.example.demo.model.Role;
+import com.example.demo.model.User;
+import com.example.demo.support.IntegrationTest;
+import com.example.demo.support.TestData;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static com.example.demo.support.TestData.newUser;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@IntegrationTest
+public class UserPrincipalCacheTest {
+
+    @Autowired
+    private EventController eventController;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TestData testData;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private User admin;
+
+    @BeforeEach
+    void setUp() {
+        admin = userService.createUser(newUser("Ada", "ada.admin@example.com"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        testData.cleanUp();
+    }
+
+    @Test
+    void testEventCreationReadsTheOrganizerAtMostOnce() {
+        QueryCountInspector.reset();
+        ResponseEntity<?> first = eventController.createEvent(payload(admin.getId(), "First"));
+        int cold = QueryCountInspector.current();
+
+        QueryCountInspector.reset();
+        ResponseEntity<?> second = eventController.createEvent(payload(admin.getId(), "Second"));
+        int warm = QueryCountInspector.current();
+
+        assertThat(first.getStatusCode().value()).isEqualTo(201);
+        assertThat(second.getStatusCode().value()).isEqualTo(201);
+        assertThat(((Event) second.getBody()).getOrganizerName()).isEqualTo("Ada Tester");
+        // cold: principal lookup + insert; warm: the insert alone
+        assertThat(cold).isEqualTo(2);
+        assertThat(warm).isEqualTo(1);
+    }
+
+    @Test
+    void testUpdateAndDeleteInvalidateThePrincipal() {
+        eventController.createEvent(payload(admin.getId(), "Warm up"));
+
+        User rename = new User();
+        rename.setFirstName("Grace");
+        userService.updateUser(admin.getId(), rename);
+        Event renamed = (Event) eventController.createEvent(payload(admin.getId(), "Renamed")).getBody();
+        assertThat(renamed.getOrganizerName()).isEqualTo("Grace Tester");
+
+        userService.deleteUser(admin.getId());
+        assertThat(eventController.createEvent(payload(admin.getId(), "Gone")).getStatusCode().value()).isEqualTo(403);
+    }
+
+    @Test
+    void testRoleIsAssignedAtSignupAndNeverReadFromJson() throws Exception {
+        User regular = userService.createUser(newUser("Bob", "bob@example.com"));
+        User sneaky = objectMapper.readValue("""
+                {"firstName": "Eve", "lastName": "Tester", "email": "eve@example.com",
+                 "password": "Secret@123", "role": "ADMIN"}""", User.class);
+
+        assertThat(admin.getRole()).isEqualTo(Role.ADMIN);
+        assertThat(regular.getRole()).isEqualTo(Role.USER);
+        assertThat(userService.createUser(sneaky).getRole()).isEqualTo(Role.USER);
+        assertThat(objectMapper.writeValueAsString(admin)).contains("\"role\":\"ADMIN\"");
+        assertThat(eventController.createEvent(payload(regular.getId(), "Nope")).getStatusCode().value()).isEqualTo(403);
+    }
+
+    private Map<String, Object> payload(Long organizerId, String title) {
+        return Map.of(
+                "organizerId", organizerId,
+                "title", title,
+                "eventDate", LocalDateTime.now().plusDays(10).withNano(0).toString(),
+                "location", "Hall",
+                "capacity", 50);
+    }
+}
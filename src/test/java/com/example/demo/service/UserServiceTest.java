@@ -0,0 +1,64 @@
+package com.example.demo.service;
+
+import com.example.demo.model.User;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.support.TestData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class UserServiceTest {
+
+    private PasswordHashingService hashing;
+    private ExecutorService requestExecutor;
+    private UserRepository userRepository;
+    private UserService userService;
+
+    @BeforeEach
+    void setUp() {
+        hashing = new PasswordHashingService();
+        ReflectionTestUtils.setField(hashing, "passwordEncoder", new BCryptPasswordEncoder(4));
+        ReflectionTestUtils.setField(hashing, "threads", 1);
+        ReflectionTestUtils.setField(hashing, "queueCapacity", 2);
+        hashing.start();
+        requestExecutor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "request-1"));
+        userRepository = mock(UserRepository.class);
+
+        userService = new UserService();
+        ReflectionTestUtils.setField(userService, "userRepository", userRepository);
+        ReflectionTestUtils.setField(userService, "passwordHashing", hashing);
+        ReflectionTestUtils.setField(userService, "taskExecutor", requestExecutor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        hashing.stop();
+        requestExecutor.shutdown();
+    }
+
+    @Test
+    void testSignupHashesOnThePoolAndSavesOffIt() {
+        AtomicReference<String> savedOn = new AtomicReference<>();
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> {
+            savedOn.set(Thread.currentThread().getName());
+            return invocation.getArgument(0);
+        });
+
+        User created = userService.createUserAsync(TestData.newUser("sid")).join();
+
+        assertThat(created.getPassword()).startsWith("$2");
+        // A slow insert must not hold one of the few hashing threads
+        assertThat(savedOn.get()).isEqualTo("request-1");
+    }
+}
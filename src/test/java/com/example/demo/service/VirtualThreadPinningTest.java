@@ -0,0 +1,75 @@
+package com.example.demo.service;
+
+import com.example.demo.model.Event;
+import com.example.demo.model.User;
+import com.example.demo.support.IntegrationTest;
+import com.example.demo.support.TestData;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@IntegrationTest
+public class VirtualThreadPinningTest {
+
+    @Autowired
+    private EventRegistrationService registrationService;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private TestData testData;
+
+    @AfterEach
+    void tearDown() {
+        testData.cleanUp();
+    }
+
+    @Test
+    void testRegistrationPathDoesNotPinCarrierThreads() throws Exception {
+        User organizer = testData.saveUser("organizer");
+        Event saved = testData.saveEvent("Virtual", organizer.getId(), LocalDateTime.now().plusDays(3), 50);
+        List<User> attendees = testData.saveUsers("vt", 200);
+
+        // A virtual thread blocking inside a monitor holds its carrier; with few carriers that stalls everything
+        List<String> pinned = new CopyOnWriteArrayList<>();
+        try (RecordingStream recording = new RecordingStream()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ofMillis(20)).withStackTrace();
+            recording.onEvent("jdk.VirtualThreadPinned", recorded -> pinned.add(String.valueOf(recorded.getStackTrace())));
+            recording.startAsync();
+
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<?>> futures = new ArrayList<>();
+                for (User attendee : attendees) {
+                    futures.add(executor.submit(() -> {
+                        eventService.getEventById(saved.getId());
+                        try {
+                            registrationService.registerUserForEvent(saved.getId(), attendee.getId());
+                        } catch (RuntimeException e) {
+                            // full event, expected for most
+                        }
+                        registrationService.getRegistrationStats(saved.getId());
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            }
+            recording.stop();
+        }
+
+        assertThat(pinned).isEmpty();
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.RegistrationStats;
+import com.example.demo.dto.WaitlistPosition;
+import com.example.demo.model.Event;
+import com.example.demo.model.EventRegistration;
+import com.example.demo.model.User;
+import com.example.demo.repository.EventRegistrationRepository;
+import com.example.demo.repository.EventRepository;
+import com.example.demo.support.IntegrationTest;
+import com.example.demo.support.TestData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@IntegrationTest
+public class WaitlistTest {
+
+    private static final int CAPACITY = 3;
+
+    @Autowired
+    private EventRegistrationService registrationService;
+
+    @Autowired
+    private WaitlistService waitlistService;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventRegistrationRepository registrationRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TestData testData;
+
+    private Event event;
+    private List<User> attendees;
+
+    @BeforeEach
+    void setUp() {
+        User organizer = testData.saveUser("organizer");
+        event = testData.saveEvent("Sold out", organizer.getId(), LocalDateTime.now().plusDays(5), CAPACITY);
+        attendees = testData.saveUsers("fan", 40);
+    }
+
+    @AfterEach
+    void tearDown() {
+        testData.cleanUp();
+    }
+
+    @Test
+    void testFullEventQueuesInArrivalOrder() {
+        for (int i = 0; i < 6; i++) {
+            registrationService.registerUserForEvent(event.getId(), attendees.get(i).getId());
+        }
+
+        assertThat(position(2)).isEqualTo(new WaitlistPosition(registrationId(2), "CONFIRMED", null));
+        assertThat(position(3).position()).isEqualTo(1);
+        assertThat(position(5).position()).isEqualTo(3);
+        assertThat(registrationService.getRegistrationStats(event.getId()).confirmed()).isEqualTo(CAPACITY);
+    }
+
+    @Test
+    void testQueueOrderDoesNotFollowIds() {
+        for (int i = 0; i < 5; i++) {
+            registrationService.registerUserForEvent(event.getId(), attendees.get(i).getId());
+        }
+        // As if the first in line got its id from a later block handed to another instance
+        jdbcTemplate.update("UPDATE event_registrations SET id = id + 100000 WHERE id = ?", registrationId(3));
+
+        assertThat(position(3).position()).isEqualTo(1);
+        assertThat(position(4).position()).isEqualTo(2);
+
+        registrationService.cancelRegistration(event.getId(), attendees.get(0).getId());
+
+        assertThat(position(3).status()).isEqualTo("CONFIRMED");
+        assertThat(position(4).position()).isEqualTo(1);
+    }
+
+    @Test
+    void testCancellingASeatPromotesTheHead() {
+        for (int i = 0; i < 5; i++) {
+            registrationService.registerUserForEvent(event.getId(), attendees.get(i).getId());
+        }
+
+        registrationService.cancelRegistration(event.getId(), attendees.get(1).getId());
+
+        assertThat(position(3).status()).isEqualTo("CONFIRMED");
+        assertThat(position(4).position()).isEqualTo(1);
+        assertThat(registrationService.getRegistrationStats(event.getId())).isEqualTo(new RegistrationStats(CAPACITY, 1, 0));
+    }
+
+    @Test
+    void testLeavingTheWaitlistKeepsSeatsAndShiftsPositions() {
+        for (int i = 0; i < 6; i++) {
+            registrationService.registerUserForEvent(event.getId(), attendees.get(i).getId());
+        }
+
+        registrationService.cancelRegistration(event.getId(), attendees.get(3).getId());
+
+        assertThat(position(4).position()).isEqualTo(1);
+        assertThat(position(5).position()).isEqualTo(2);
+        assertThat(registrationService.getRegistrationStats(event.getId())).isEqualTo(new RegistrationStats(CAPACITY, 1, 0));
+    }
+
+    @Test
+    void testCapacityIncreasePromotesFromTheWaitlist() {
+        for (int i = 0; i < 6; i++) {
+            registrationService.registerUserForEvent(event.getId(), attendees.get(i).getId());
+        }
+        Event details = new Event();
+        details.setTitle(event.getTitle());
+        details.setEventDate(event.getEventDate());
+        details.setLocation(event.getLocation());
+        details.setCapacity(CAPACITY + 2);
+
+        eventService.updateEvent(event.getId(), details);
+
+        assertThat(position(3).status()).isEqualTo("CONFIRMED");
+        assertThat(position(4).status()).isEqualTo("CONFIRMED");
+        assertThat(position(5).position()).isEqualTo(1);
+        assertThat(registrationService.getRegistrationStats(event.getId()).confirmed()).isEqualTo(CAPACITY + 2);
+    }
+
+    @Test
+    void testConcurrentJoinsAndCancellationsNeverLeaveSeatsIdle() throws Exception {
+        for (int i = 0; i < CAPACITY; i++) {
+            registrationService.registerUserForEvent(event.getId(), attendees.get(i).getId());
+        }
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(16)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = CAPACITY; i < attendees.size(); i++) {
+                Long userId = attendees.get(i).getId();
+                futures.add(executor.submit(() -> registrationService.registerUserForEvent(event.getId(), userId)));
+            }
+            for (int i = 0; i < CAPACITY; i++) {
+                Long userId = attendees.get(i).getId();
+                futures.add(executor.submit(() -> registrationService.cancelRegistration(event.getId(), userId)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        // Every freed seat went to someone, and nobody holds a seat beyond capacity
+        assertThat(registrationRepository.countByEventIdAndStatus(event.getId(), "CONFIRMED")).isEqualTo(CAPACITY);
+        assertThat(registrationRepository.countByEventIdAndStatus(event.getId(), "PENDING"))
+                .isEqualTo(attendees.size() - 2L * CAPACITY);
+        assertThat(eventRepository.findById(event.getId()).orElseThrow().getConfirmedCount()).isEqualTo(CAPACITY);
+    }
+
+    private WaitlistPosition position(int attendee) {
+        return waitlistService.getPosition(event.getId(), attendees.get(attendee).getId());
+    }
+
+    private Long registrationId(int attendee) {
+        return registrationRepository.findByEventIdAndUserId(event.getId(), attendees.get(attendee).getId())
+                .map(EventRegistration::getId).orElseThrow();
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.demo.support;
+
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The one application context the integration tests share; every variation of it costs a full startup.
+ *
+ * It serves real HTTP, MockMvc and the Prometheus scrape alike. The background pollers are kept from
+ * running statements mid-test (statement counts are global), outbox dispatch is driven by the tests, and
+ * the settings only a single test exercises (outbox retries, archive chunking) are sized for that test.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "app.rate-limit.enabled=false",
+        "app.outbox.poll-interval-ms=3600000",
+        "app.outbox.max-attempts=3",
+        "app.outbox.base-backoff=0s",
+        "app.registration.reconcile-interval-ms=3600000",
+        "app.archive.chunk-rows=3"
+})
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@Import({TestData.class, RecordingOutboxHandler.class})
+public @interface IntegrationTest {
+}
@@ -0,0 +1,36 @@
+package com.example.demo.support;
+
+import com.example.demo.model.OutboxMessage;
+import com.example.demo.service.OutboxHandler;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Keeps what the dispatcher delivers, and fails the next failuresLeft deliveries like a downstream outage
+public class RecordingOutboxHandler implements OutboxHandler {
+
+    private final List<OutboxMessage> received = new CopyOnWriteArrayList<>();
+    private final AtomicInteger failuresLeft = new AtomicInteger();
+
+    @Override
+    public void handle(OutboxMessage message) {
+        if (failuresLeft.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+            throw new IllegalStateException("mail server down");
+        }
+        received.add(message);
+    }
+
+    public List<OutboxMessage> received() {
+        return received;
+    }
+
+    public void failNext(int deliveries) {
+        failuresLeft.set(deliveries);
+    }
+
+    public void reset() {
+        received.clear();
+        failuresLeft.set(0);
+    }
+}
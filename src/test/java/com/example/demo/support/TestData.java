@@ -0,0 +1,100 @@
+package com.example.demo.support;
+
+import com.example.demo.model.Event;
+import com.example.demo.model.User;
+import com.example.demo.repository.EventRegistrationRepository;
+import com.example.demo.repository.EventRepository;
+import com.example.demo.repository.OutboxMessageRepository;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.service.EventCalendarIndex;
+import com.example.demo.service.EventSearchIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Users and events for the integration tests, and the cleanup that leaves the shared context as it found it.
+ *
+ * The builders are static so plain unit tests can use them too; the rest needs the {@link IntegrationTest} context.
+ */
+public class TestData {
+
+    public static final String PASSWORD = "Secret@123";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EventRegistrationRepository registrationRepository;
+
+    @Autowired
+    private OutboxMessageRepository outboxRepository;
+
+    @Autowired
+    private EventCalendarIndex calendarIndex;
+
+    @Autowired
+    private EventSearchIndex searchIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public static User newUser(String name) {
+        return newUser(name, name + "@example.com");
+    }
+
+    public static User newUser(String firstName, String email) {
+        User user = new User();
+        user.setFirstName(firstName);
+        user.setLastName("Tester");
+        user.setEmail(email);
+        user.setPassword(PASSWORD);
+        return user;
+    }
+
+    public static Event newEvent(String title, Long organizerId, LocalDateTime eventDate, int capacity) {
+        Event event = new Event();
+        event.setTitle(title);
+        event.setEventDate(eventDate);
+        event.setLocation("Hall");
+        event.setCapacity(capacity);
+        event.setOrganizerId(organizerId);
+        return event;
+    }
+
+    public User saveUser(String name) {
+        return userRepository.save(newUser(name));
+    }
+
+    // prefix0, prefix1, ... in one saveAll
+    public List<User> saveUsers(String prefix, int count) {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            users.add(newUser(prefix + i));
+        }
+        return userRepository.saveAll(users);
+    }
+
+    // Bypasses EventService, so the event is in neither in-memory index
+    public Event saveEvent(String title, Long organizerId, LocalDateTime eventDate, int capacity) {
+        return eventRepository.save(newEvent(title, organizerId, eventDate, capacity));
+    }
+
+    public void cleanUp() {
+        // The batch deletes below bypass EventService, so the indexes are told separately
+        for (Long eventId : jdbcTemplate.queryForList("SELECT id FROM events", Long.class)) {
+            calendarIndex.remove(eventId);
+            searchIndex.remove(eventId);
+        }
+        outboxRepository.deleteAllInBatch();
+        registrationRepository.deleteAllInBatch();
+        eventRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+}
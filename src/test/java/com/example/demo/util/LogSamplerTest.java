@@ -0,0 +1,24 @@
+package com.example.demo.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LogSamplerTest {
+
+    @Test
+    void testOneLinePerIntervalWithSuppressedCount() throws Exception {
+        LogSampler sampler = new LogSampler(Duration.ofMillis(200));
+
+        assertThat(sampler.sample()).isEqualTo(0);
+        for (int i = 0; i < 50; i++) {
+            assertThat(sampler.sample()).isEqualTo(-1);
+        }
+
+        Thread.sleep(250);
+        assertThat(sampler.sample()).isEqualTo(50);
+        assertThat(sampler.sample()).isEqualTo(-1);
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.demo.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ResponseFormatTest {
+
+    @Test
+    void testNegotiatesByQualityAndFallsBackToJson() {
+        assertThat(ResponseFormat.negotiate(null, true)).isEqualTo(ResponseFormat.JSON);
+        assertThat(ResponseFormat.negotiate("*/*", true)).isEqualTo(ResponseFormat.JSON);
+        assertThat(ResponseFormat.negotiate("text/html, application/x-jackson-smile", true)).isEqualTo(ResponseFormat.SMILE);
+        assertThat(ResponseFormat.negotiate("application/json;q=0.5, application/cbor", true)).isEqualTo(ResponseFormat.CBOR);
+        assertThat(ResponseFormat.negotiate("application/vnd.columnar+json, */*;q=0.1", true)).isEqualTo(ResponseFormat.COLUMNAR);
+        // Endpoints without a table form serve JSON instead
+        assertThat(ResponseFormat.negotiate("application/vnd.columnar+json", false)).isEqualTo(ResponseFormat.JSON);
+        assertThat(ResponseFormat.negotiate("not a media type", true)).isEqualTo(ResponseFormat.JSON);
+    }
+
+    @Test
+    void testEachFormatGetsItsOwnTag() {
+        assertThat(ResponseFormat.JSON.tag("W/\"abc-1\"")).isEqualTo("W/\"abc-1\"");
+        assertThat(ResponseFormat.SMILE.tag("W/\"abc-1\"")).isEqualTo("W/\"abc-1-smile\"");
+        assertThat(ResponseFormat.COLUMNAR.tag("\"abc-1\"")).isEqualTo("\"abc-1-columnar\"");
+    }
+}
@@ -20,10 +20,8 @@ function DashboardRouter() {
   }
 
   const user = JSON.parse(authUser);
-  // Check if user is admin (you can modify this logic based on your needs)
-  // For now, let's check if the email contains 'admin' or firstName is 'admin'
-  const isAdmin = user.email?.toLowerCase().includes('admin') || 
-                  user.firstName?.toLowerCase() === 'admin';
+  // The role comes from the server with the login response
+  const isAdmin = user.role === 'ADMIN';
 
   return isAdmin ? <AdminDashboard /> : <UserDashboard />;
 }
@@ -19,9 +19,7 @@ const EventManagement = () => {
       setUser(userData);
       
       // Check if user is admin
-      const adminStatus = userData.email?.toLowerCase().includes('admin') || 
-                         userData.firstName?.toLowerCase() === 'admin';
-      setIsAdmin(adminStatus);
+      setIsAdmin(userData.role === 'ADMIN');
     }
   }, []);
 
@@ -35,6 +35,21 @@ const UserDashboard = () => {
     }
   }, [user]);
 
+  // Seat counts are pushed by the server instead of re-checking every event
+  useEffect(() => {
+    if (events.length === 0) return undefined;
+    return registrationService.subscribeToSeats(events.map(event => event.id), (seats) => {
+      setRegistrationStatus(prev => ({
+        ...prev,
+        [seats.eventId]: {
+          ...prev[seats.eventId],
+          registrationCount: seats.confirmed,
+          remainingCapacity: seats.remainingCapacity
+        }
+      }));
+    });
+  }, [events]);
+
   const fetchEvents = async () => {
     try {
       setLoading(true);
@@ -115,6 +130,8 @@ const UserDashboard = () => {
 
     try {
       const result = await registrationService.registerForEvent(eventId, user.id);
+      // A full event puts the user on the waitlist instead of taking a seat
+      const seated = result.registration?.status !== 'PENDING';
       
       // Update registration status
       setRegistrationStatus(prev => ({
@@ -122,8 +139,8 @@ const UserDashboard = () => {
         [eventId]: {
           ...prev[eventId],
           isRegistered: true,
-          registrationCount: (prev[eventId]?.registrationCount || 0) + 1,
-          remainingCapacity: Math.max(0, (prev[eventId]?.remainingCapacity || 0) - 1)
+          registrationCount: (prev[eventId]?.registrationCount || 0) + (seated ? 1 : 0),
+          remainingCapacity: Math.max(0, (prev[eventId]?.remainingCapacity || 0) - (seated ? 1 : 0))
         }
       }));
 
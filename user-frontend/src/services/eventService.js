@@ -39,6 +39,26 @@ const eventService = {
     }
   },
 
+  // Next events from now on, soonest first (summaries without registration counts)
+  getUpcomingEvents: async (size = 20) => {
+    try {
+      const response = await axios.get(`${API_BASE_URL}/upcoming`, { params: { size } });
+      return response.data;
+    } catch (error) {
+      throw new Error('Failed to fetch upcoming events');
+    }
+  },
+
+  // Events dated from `from` (inclusive) to `to` (exclusive), as YYYY-MM-DDTHH:MM strings
+  getEventsBetween: async (from, to, size = 100) => {
+    try {
+      const response = await axios.get(`${API_BASE_URL}/range`, { params: { from, to, size } });
+      return response.data;
+    } catch (error) {
+      throw new Error('Failed to fetch events in range');
+    }
+  },
+
   // Create new event
   createEvent: async (event) => {
     try {
@@ -68,6 +68,28 @@ const registrationService = {
     }
   },
 
+  // Registration status and waitlist position (position is set only while waitlisted)
+  getWaitlistPosition: async (eventId, userId) => {
+    try {
+      const response = await axios.get(`${API_BASE_URL}/position`, {
+        params: {
+          eventId: eventId,
+          userId: userId
+        }
+      });
+      return response.data;
+    } catch (error) {
+      throw new Error('Failed to fetch waitlist position');
+    }
+  },
+
+  // Live seat availability for a list of events over one SSE connection; returns a function that closes it
+  subscribeToSeats: (eventIds, onUpdate) => {
+    const source = new EventSource(`${API_BASE_URL}/stream?eventIds=${eventIds.join(',')}`);
+    source.addEventListener('seats', (message) => onUpdate(JSON.parse(message.data)));
+    return () => source.close();
+  },
+
   // Get registration statistics for event
   getRegistrationStats: async (eventId) => {
     try {